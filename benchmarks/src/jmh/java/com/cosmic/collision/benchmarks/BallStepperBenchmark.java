@@ -0,0 +1,61 @@
+package com.cosmic.collision.benchmarks;
+
+import com.cosmic.collision.BallStepper;
+import com.cosmic.collision.BallSystem;
+import com.cosmic.collision.BlockField;
+import com.cosmic.collision.Plataforma;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BallStepper.avanzar, la ruta de colisión que usa el juego: un tick de 64
+ * bolas contra un campo tipo DIFÍCIL, las paredes y la paleta. Sin listener,
+ * así que el campo no cambia y las bolas rebotan en régimen. Es la referencia
+ * por bola para el modo normal (BallSystemBenchmark mide la multibola).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BallStepperBenchmark {
+
+    private static final int BOLAS = 64;
+    private static final float ANCHO = 1280f;
+    private static final float ALTO = 720f;
+
+    private final BlockField campo = new BlockField();
+    private final BallStepper stepper = new BallStepper();
+    private final BallSystem sistema = new BallSystem(BOLAS);
+    private Plataforma paleta;
+
+    @Setup
+    public void preparar() {
+        campo.cargar(Fixtures.campoDePantalla());
+        // Paleta de todo el ancho: ninguna bola se pierde por abajo
+        paleta = new Plataforma(0, 40, (int) ANCHO, 20, null);
+        // Mitad entre los bloques (hay choques) y mitad en el espacio vacío de abajo
+        Random rnd = new Random(5);
+        for (int i = 0; i < BOLAS; i++) {
+            int y = i % 2 == 0 ? 380 + rnd.nextInt(320) : 80 + rnd.nextInt(260);
+            sistema.agregar(20 + rnd.nextInt(1240), y, 10, (rnd.nextBoolean() ? 1 : -1) * 5, 6, false);
+        }
+    }
+
+    /** Un tick a 120 Hz (media velocidad de referencia) de todas las bolas. */
+    @Benchmark
+    public int avanzar() {
+        sistema.guardarEstadoPrevio();
+        int impactos = 0;
+        for (int i = 0; i < BOLAS; i++) {
+            impactos += stepper.avanzar(sistema, i, 0.5f, campo, campo, paleta, ANCHO, ALTO, null);
+        }
+        return impactos;
+    }
+}
@@ -0,0 +1,62 @@
+package com.cosmic.collision.benchmarks;
+
+import com.cosmic.collision.BallStepper;
+import com.cosmic.collision.BallSystem;
+import com.cosmic.collision.BlockField;
+import com.cosmic.collision.Plataforma;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rutas de actualización y dibujo del sistema de bolas en el modo multibola:
+ * un tick completo de todas las bolas contra un campo tipo MEDIA y la
+ * interpolación de posiciones que precede al dibujo (la parte sin GL).
+ * A 60 FPS con ticks de 120 Hz, el presupuesto es de ~8300 us por tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BallSystemBenchmark {
+
+    private static final float ANCHO = 1280f;
+    private static final float ALTO = 720f;
+
+    @Param({"1000", "10000", "20000"})
+    public int bolas;
+
+    private BallSystem sistema;
+    private final BlockField campo = new BlockField();
+    private final BallStepper stepper = new BallStepper();
+    private Plataforma piso;
+
+    @Setup
+    public void preparar() {
+        campo.cargar(Fixtures.campoDePantalla());
+        piso = new Plataforma(0, 0, (int) ANCHO, 20, null);
+        sistema = Fixtures.bolasDeMultibola(bolas);
+    }
+
+    /** Un tick a 120 Hz (media velocidad de referencia) de todas las bolas. */
+    @Benchmark
+    public int actualizar() {
+        sistema.guardarEstadoPrevio();
+        int impactos = 0;
+        for (int i = 0; i < sistema.size(); i++) {
+            impactos += stepper.avanzar(sistema, i, 0.5f, campo, campo, piso, ANCHO, ALTO, null);
+        }
+        return impactos;
+    }
+
+    @Benchmark
+    public float[] interpolar() {
+        return sistema.interpolar(0.5f);
+    }
+}
@@ -0,0 +1,48 @@
+package com.cosmic.collision.benchmarks;
+
+import com.cosmic.collision.Bloque;
+import com.cosmic.collision.DefaultBlockFactory;
+import com.cosmic.collision.Dificultad;
+import com.cosmic.collision.DifficultySettings;
+import com.cosmic.collision.RandomStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación del campo de un nivel con DefaultBlockFactory (sin texturas), por
+ * dificultad y filas. Es lo que cuesta pasar de nivel antes de cargar el BlockField.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockFactoryBenchmark {
+
+    @Param({"FACIL", "MEDIA", "DIFICIL"})
+    public Dificultad dificultad;
+
+    @Param({"4", "16"})
+    public int filas;
+
+    private final DefaultBlockFactory fabrica = new DefaultBlockFactory(null, null, null, null);
+    private final RandomStream azar = new RandomStream(3L);
+    private DifficultySettings settings;
+
+    @Setup
+    public void preparar() {
+        settings = new DifficultySettings(dificultad);
+    }
+
+    @Benchmark
+    public List<Bloque> crearBloques() {
+        return fabrica.crearBloques(filas, settings, Fixtures.ANCHO_MUNDO, Fixtures.ALTO_MUNDO, azar);
+    }
+}
@@ -0,0 +1,123 @@
+package com.cosmic.collision.benchmarks;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+import com.cosmic.collision.BlockField;
+import com.cosmic.collision.Bloque;
+import com.cosmic.collision.UniformGridBroadPhase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List&lt;Bloque&gt; con grilla uniforme (como GameWorld antes del BlockField) frente
+ * al campo compacto: consultas de bolas y recorrido de todos los bloques vivos
+ * (lo que hacen el barrido de destruidos y el dibujo en cada tick).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockFieldBenchmark {
+
+    private static final int BOLAS = 64;
+    private static final int RADIO = 10;
+
+    @Param({"1000", "10000", "100000"})
+    public int bloques;
+
+    @Param({"lista", "campo"})
+    public String modo;
+
+    private List<Bloque> lista;
+    private UniformGridBroadPhase grilla;
+    private final BlockField campo = new BlockField();
+    private boolean usarCampo;
+    private final IntArray candidatos = new IntArray();
+    private final int[] bolaX = new int[BOLAS];
+    private final int[] bolaY = new int[BOLAS];
+
+    @Setup
+    public void preparar() {
+        lista = Fixtures.grillaDeBloques(bloques);
+        float ancho = Fixtures.anchoDe(lista);
+        float alto = Fixtures.altoDe(lista);
+        Random rnd = new Random(42);
+        for (int i = 0; i < BOLAS; i++) {
+            bolaX[i] = rnd.nextInt((int) ancho);
+            bolaY[i] = rnd.nextInt((int) alto);
+        }
+        usarCampo = "campo".equals(modo);
+        if (usarCampo) {
+            campo.cargar(lista);
+            lista = null;
+            return;
+        }
+        grilla = new UniformGridBroadPhase(64f);
+        grilla.reiniciar(ancho, alto);
+        for (int i = 0; i < lista.size(); i++) {
+            Bloque b = lista.get(i);
+            grilla.insertar(i, b.getX(), b.getY(), b.getAncho(), b.getAlto());
+        }
+    }
+
+    @Benchmark
+    public int colisiones() {
+        int impactos = 0;
+        for (int i = 0; i < BOLAS; i++) {
+            int cx = bolaX[i], cy = bolaY[i];
+            candidatos.clear();
+            if (usarCampo) {
+                campo.consultar(cx - RADIO, cy - RADIO, cx + RADIO, cy + RADIO, candidatos);
+                for (int j = 0; j < candidatos.size; j++) {
+                    int c = candidatos.get(j);
+                    if (intersecta(cx, cy, campo.getX(c), campo.getY(c), campo.getAnchoCelda(), campo.getAltoCelda())) {
+                        impactos++;
+                    }
+                }
+            } else {
+                grilla.consultar(cx - RADIO, cy - RADIO, cx + RADIO, cy + RADIO, candidatos);
+                for (int j = 0; j < candidatos.size; j++) {
+                    Rectangle r = lista.get(candidatos.get(j)).getRect();
+                    if (intersecta(cx, cy, r.x, r.y, r.width, r.height)) impactos++;
+                }
+            }
+        }
+        return impactos;
+    }
+
+    @Benchmark
+    public int recorrido() {
+        int suma = 0;
+        if (usarCampo) {
+            // Mismo recorrido que BlockField.dibujar: fila por fila, x incremental
+            int c = 0, paso = campo.getCols() > 1 ? campo.getX(1) - campo.getX(0) : 0;
+            for (int f = 0; f < campo.getFilas(); f++) {
+                for (int col = 0, x = campo.getX(c); col < campo.getCols(); col++, x += paso, c++) {
+                    if (campo.estaOcupada(c) && !campo.estaDestruida(c)) suma += campo.getHp(c) + x;
+                }
+            }
+        } else {
+            for (int i = 0; i < lista.size(); i++) {
+                Bloque b = lista.get(i);
+                if (!b.estaDestruido()) suma += b.getHp() + b.getX();
+            }
+        }
+        return suma;
+    }
+
+    private static boolean intersecta(int cx, int cy, float x, float y, float w, float h) {
+        float px = Math.max(x, Math.min(cx, x + w));
+        float py = Math.max(y, Math.min(cy, y + h));
+        float dx = cx - px, dy = cy - py;
+        return dx * dx + dy * dy <= RADIO * RADIO;
+    }
+}
@@ -0,0 +1,92 @@
+package com.cosmic.collision.benchmarks;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+import com.cosmic.collision.Bloque;
+import com.cosmic.collision.BroadPhase;
+import com.cosmic.collision.QuadTreeBroadPhase;
+import com.cosmic.collision.UniformGridBroadPhase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bolas contra bloques: bucles anidados (como GameWorld antes de la broadphase)
+ * frente a la grilla uniforme y el quadtree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BroadPhaseBenchmark {
+
+    private static final int BOLAS = 64;
+    private static final int RADIO = 10;
+
+    @Param({"1000", "10000", "100000"})
+    public int bloques;
+
+    @Param({"anidado", "grilla", "quadtree"})
+    public String modo;
+
+    private List<Bloque> lista;
+    private BroadPhase broadPhase;
+    private final IntArray candidatos = new IntArray();
+    private final int[] bolaX = new int[BOLAS];
+    private final int[] bolaY = new int[BOLAS];
+
+    @Setup
+    public void preparar() {
+        lista = Fixtures.grillaDeBloques(bloques);
+        float ancho = Fixtures.anchoDe(lista);
+        float alto = Fixtures.altoDe(lista);
+        Random rnd = new Random(42);
+        for (int i = 0; i < BOLAS; i++) {
+            bolaX[i] = rnd.nextInt((int) ancho);
+            bolaY[i] = rnd.nextInt((int) alto);
+        }
+        if ("grilla".equals(modo)) broadPhase = new UniformGridBroadPhase(64f);
+        else if ("quadtree".equals(modo)) broadPhase = new QuadTreeBroadPhase();
+        else return;
+        broadPhase.reiniciar(ancho, alto);
+        for (int i = 0; i < lista.size(); i++) {
+            Bloque b = lista.get(i);
+            broadPhase.insertar(i, b.getX(), b.getY(), b.getAncho(), b.getAlto());
+        }
+    }
+
+    @Benchmark
+    public int colisiones() {
+        int impactos = 0;
+        for (int i = 0; i < BOLAS; i++) {
+            int cx = bolaX[i], cy = bolaY[i];
+            if (broadPhase == null) {
+                for (int j = 0; j < lista.size(); j++) {
+                    if (intersecta(cx, cy, lista.get(j).getRect())) impactos++;
+                }
+            } else {
+                candidatos.clear();
+                broadPhase.consultar(cx - RADIO, cy - RADIO, cx + RADIO, cy + RADIO, candidatos);
+                for (int j = 0; j < candidatos.size; j++) {
+                    if (intersecta(cx, cy, lista.get(candidatos.get(j)).getRect())) impactos++;
+                }
+            }
+        }
+        return impactos;
+    }
+
+    private static boolean intersecta(int cx, int cy, Rectangle r) {
+        float px = Math.max(r.x, Math.min(cx, r.x + r.width));
+        float py = Math.max(r.y, Math.min(cy, r.y + r.height));
+        float dx = cx - px, dy = cy - py;
+        return dx * dx + dy * dy <= RADIO * RADIO;
+    }
+}
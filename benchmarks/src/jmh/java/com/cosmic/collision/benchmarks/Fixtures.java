@@ -0,0 +1,91 @@
+package com.cosmic.collision.benchmarks;
+
+import com.cosmic.collision.AutopilotInput;
+import com.cosmic.collision.BallSystem;
+import com.cosmic.collision.Bloque;
+import com.cosmic.collision.DefaultBlockFactory;
+import com.cosmic.collision.Dificultad;
+import com.cosmic.collision.DifficultySettings;
+import com.cosmic.collision.GameWorld;
+import com.cosmic.collision.WorldContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Escenarios sintéticos para los benchmarks, construidos sin contexto GL
+ * (los bloques no llevan texturas).
+ */
+final class Fixtures {
+
+    static final int ANCHO_BLOQUE = 70;
+    static final int ALTO_BLOQUE = 26;
+    static final int ESPACIADO = 10;
+    static final int ANCHO_MUNDO = 1280;
+    static final int ALTO_MUNDO = 720;
+    static final float FRECUENCIA_TICK_HZ = 120f;
+
+    private Fixtures() {}
+
+    /** Grilla aproximadamente cuadrada de n bloques con la geometría de MEDIA/DIFÍCIL. */
+    static List<Bloque> grillaDeBloques(int n) {
+        int cols = (int) Math.ceil(Math.sqrt(n * (double) (ALTO_BLOQUE + ESPACIADO) / (ANCHO_BLOQUE + ESPACIADO)));
+        List<Bloque> lista = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int c = i % cols;
+            int f = i / cols;
+            lista.add(new Bloque(c * (ANCHO_BLOQUE + ESPACIADO), f * (ALTO_BLOQUE + ESPACIADO),
+                    ANCHO_BLOQUE, ALTO_BLOQUE, null, null, null, null));
+        }
+        return lista;
+    }
+
+    /** Campo tipo DIFÍCIL (9 filas x 14 columnas) en la mitad superior de 1280x720. */
+    static List<Bloque> campoDePantalla() {
+        List<Bloque> lista = new ArrayList<>();
+        for (int fila = 0; fila < 9; fila++) {
+            for (int c = 0; c < 14; c++) {
+                lista.add(new Bloque(60 + c * 82, 380 + fila * 36, ANCHO_BLOQUE, ALTO_BLOQUE, null, null, null, null));
+            }
+        }
+        return lista;
+    }
+
+    /** n bolas en la mitad inferior con velocidades de multibola, siempre con la misma semilla. */
+    static BallSystem bolasDeMultibola(int n) {
+        BallSystem sistema = new BallSystem(n);
+        Random rnd = new Random(11);
+        for (int i = 0; i < n; i++) {
+            sistema.agregar(40 + rnd.nextInt(1200), 40 + rnd.nextInt(320), 10,
+                    rnd.nextInt(13) - 6, (rnd.nextBoolean() ? 1 : -1) * (4 + rnd.nextInt(3)), false);
+        }
+        return sistema;
+    }
+
+    /**
+     * Mundo de juego completo como el de HeadlessLauncher (1280x720, 120 Hz, sin
+     * texturas ni HUD) jugado por el piloto automático, en una partida ya iniciada.
+     */
+    static GameWorld mundoSinVentana(Dificultad dificultad, long semilla) {
+        AutopilotInput piloto = new AutopilotInput();
+        GameWorld mundo = new GameWorld(new DefaultBlockFactory(null, null, null, null), null,
+                new DifficultySettings(dificultad), 1500, null, new WorldContext(ANCHO_MUNDO, ALTO_MUNDO, piloto));
+        mundo.setFrecuenciaTick(FRECUENCIA_TICK_HZ);
+        piloto.setMundo(mundo);
+        mundo.iniciarJuego(semilla);
+        return mundo;
+    }
+
+    static float anchoDe(List<Bloque> bloques) {
+        int max = 0;
+        for (Bloque b : bloques) max = Math.max(max, b.getX() + b.getAncho());
+        return max;
+    }
+
+    static float altoDe(List<Bloque> bloques) {
+        int max = 0;
+        for (Bloque b : bloques) max = Math.max(max, b.getY() + b.getAlto());
+        return max;
+    }
+}
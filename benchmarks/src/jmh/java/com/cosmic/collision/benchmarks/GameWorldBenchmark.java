@@ -0,0 +1,73 @@
+package com.cosmic.collision.benchmarks;
+
+import com.cosmic.collision.BallSystem;
+import com.cosmic.collision.Dificultad;
+import com.cosmic.collision.GameWorld;
+import com.cosmic.collision.WorldSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un tick completo de GameWorld.actualizar() (entrada, bolas, impactos,
+ * power-ups, avance de nivel) según la cantidad de bolas y de filas de bloques.
+ * Las bolas se pierden y los bloques se rompen a medida que se juega, así que
+ * cada invocación parte de la misma captura y simula un segundo de juego: el
+ * resultado es el promedio por tick de ese segundo, siempre con la misma carga.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameWorldBenchmark {
+
+    private static final int TICKS_POR_INVOCACION = 120;
+
+    @Param({"1", "100", "1000", "10000"})
+    public int bolas;
+
+    @Param({"4", "8", "16"})
+    public int filas;
+
+    @Param({"MEDIA", "DIFICIL"})
+    public Dificultad dificultad;
+
+    private GameWorld mundo;
+    private final WorldSnapshot captura = new WorldSnapshot();
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        mundo = Fixtures.mundoSinVentana(dificultad, 7L);
+        mundo.crearBloques(filas);
+        mundo.setMaxBolas(Math.max(bolas, 1));
+        // La bola inicial ya está en la paleta; el resto, lanzadas en la mitad inferior
+        BallSystem sistema = mundo.getBolas();
+        Random rnd = new Random(11);
+        while (sistema.size() < bolas) {
+            sistema.agregar(40 + rnd.nextInt(1200), 60 + rnd.nextInt(300), 10,
+                    rnd.nextInt(13) - 6, (rnd.nextBoolean() ? 1 : -1) * (4 + rnd.nextInt(3)), false);
+        }
+        captura.guardar(mundo);
+    }
+
+    @Setup(Level.Invocation)
+    public void restaurar() {
+        captura.restaurar(mundo);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS_POR_INVOCACION)
+    public int actualizar() {
+        for (int i = 0; i < TICKS_POR_INVOCACION; i++) mundo.actualizar();
+        return mundo.getPuntaje();
+    }
+}
@@ -0,0 +1,91 @@
+package com.cosmic.collision.benchmarks;
+
+import com.cosmic.collision.BallStepper;
+import com.cosmic.collision.BallSystem;
+import com.cosmic.collision.BlockField;
+import com.cosmic.collision.HitBuffer;
+import com.cosmic.collision.ParallelBallStepper;
+import com.cosmic.collision.Plataforma;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escalado de la fase de bolas con la cantidad de hilos: hilos = 0 es el
+ * recorrido secuencial de GameWorld; 1..N usan ParallelBallStepper sobre un
+ * ForkJoinPool de ese paralelismo (en el juego se usa el pool común).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParallelBallBenchmark {
+
+    private static final float ANCHO = 1280f;
+    private static final float ALTO = 720f;
+
+    @Param({"10000", "20000"})
+    public int bolas;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int hilos;
+
+    private BallSystem sistema;
+    private final BlockField campo = new BlockField();
+    private final BallStepper stepper = new BallStepper();
+    private final HitBuffer impactos = new HitBuffer();
+    private ForkJoinPool pool;
+    private ParallelBallStepper paralelo;
+    private Plataforma piso;
+    private int tick;
+    // El recorrido secuencial registra los mismos eventos que los tramos paralelos
+    private final BallStepper.Listener registrar = new BallStepper.Listener() {
+        @Override
+        public void alImpactarBloque(int bola, int celda) {
+            impactos.registrar(bola, celda, tick);
+        }
+
+        @Override
+        public void alImpactarPaleta(int bola) {
+            sistema.alChocarConPaleta(bola, piso);
+        }
+    };
+
+    @Setup
+    public void preparar() {
+        campo.cargar(Fixtures.campoDePantalla());
+        piso = new Plataforma(0, 0, (int) ANCHO, 20, null);
+        sistema = Fixtures.bolasDeMultibola(bolas);
+        if (hilos > 0) {
+            pool = new ForkJoinPool(hilos);
+            paralelo = new ParallelBallStepper(pool, ParallelBallStepper.BOLAS_POR_TRAMO);
+        }
+    }
+
+    @TearDown
+    public void cerrar() {
+        if (pool != null) pool.shutdown();
+    }
+
+    @Benchmark
+    public int fase() {
+        impactos.limpiar();
+        tick++;
+        if (paralelo != null) {
+            paralelo.avanzar(sistema, 0.5f, campo, campo, piso, ANCHO, ALTO, tick, impactos);
+        } else {
+            for (int i = 0; i < sistema.size(); i++) {
+                stepper.avanzar(sistema, i, 0.5f, campo, campo, piso, ANCHO, ALTO, registrar);
+            }
+        }
+        return impactos.size();
+    }
+}
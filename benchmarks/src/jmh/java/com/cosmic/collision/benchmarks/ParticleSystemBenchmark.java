@@ -0,0 +1,53 @@
+package com.cosmic.collision.benchmarks;
+
+import com.cosmic.collision.ParticleSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tick del sistema de partículas en régimen: antes de cada tick se repone lo que
+ * se apagó con explosiones y escombros, así que siempre hay cerca de `vivas`
+ * partículas y se mide también el costo de emitir y reciclar. A 60 FPS con ticks
+ * de 120 Hz, dos ticks deberían quedar muy por debajo de un frame (16600 us).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParticleSystemBenchmark {
+
+    @Param({"5000", "50000"})
+    public int vivas;
+
+    private ParticleSystem sistema;
+    private int ronda;
+
+    @Setup
+    public void preparar() {
+        // Capacidad de sobra: el presupuesto no debe recortar la reposición
+        sistema = new ParticleSystem(vivas * 2, 7L);
+        reponer();
+    }
+
+    private void reponer() {
+        while (sistema.getVivas() < vivas) {
+            float x = (ronda * 37) % 1280;
+            if ((ronda++ & 1) == 0) sistema.emitirExplosion(x, 500f, 90f);
+            else sistema.emitirEscombros(x, 600f, 64f, 32f);
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        reponer();
+        sistema.actualizar();
+        return sistema.getVivas();
+    }
+}
@@ -0,0 +1,67 @@
+package com.cosmic.collision.benchmarks;
+
+import com.cosmic.collision.Dificultad;
+import com.cosmic.collision.DifficultyStrategy;
+import com.cosmic.collision.EasyStrategy;
+import com.cosmic.collision.HardStrategy;
+import com.cosmic.collision.MediumStrategy;
+import com.cosmic.collision.PowerUpDistribution;
+import com.cosmic.collision.PowerUpType;
+import com.cosmic.collision.RandomStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorteo del tipo de power-up que suelta un bloque (GameWorld.sortearTipoPowerUp):
+ * cacheado, solo el sorteo sobre la distribución del nivel; sin caché, además
+ * pedir y normalizar la distribución de la estrategia como se hacía en cada drop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PowerUpDrawBenchmark {
+
+    @Param({"FACIL", "MEDIA", "DIFICIL"})
+    public Dificultad dificultad;
+
+    @Param({"1", "12"})
+    public int nivel;
+
+    private DifficultyStrategy estrategia;
+    private PowerUpDistribution distribucion;
+    private final RandomStream azar = new RandomStream(9L);
+
+    @Setup
+    public void preparar() {
+        switch (dificultad) {
+            case FACIL: estrategia = new EasyStrategy(); break;
+            case MEDIA: estrategia = new MediumStrategy(); break;
+            default: estrategia = new HardStrategy(); break;
+        }
+        distribucion = distribucionDelNivel();
+    }
+
+    @Benchmark
+    public PowerUpType sortearCacheado() {
+        return distribucion.sortear(azar.nextDouble());
+    }
+
+    @Benchmark
+    public PowerUpType sortearSinCache() {
+        return distribucionDelNivel().sortear(azar.nextDouble());
+    }
+
+    private PowerUpDistribution distribucionDelNivel() {
+        PowerUpDistribution d = estrategia.adjustDistributionForLevel(estrategia.getBaseDistribution(), nivel);
+        d.normalizar();
+        return d;
+    }
+}
@@ -0,0 +1,148 @@
+package com.cosmic.collision.benchmarks;
+
+import com.cosmic.collision.BallStepper;
+import com.cosmic.collision.BallSystem;
+import com.cosmic.collision.BlockField;
+import com.cosmic.collision.Bloque;
+import com.cosmic.collision.Plataforma;
+import com.cosmic.collision.UniformGridBroadPhase;
+import com.badlogic.gdx.utils.IntArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de un tick de bolas con colisión barrida (BallStepper) frente al
+ * sub-stepping discreto que haría falta para no atravesar bloques: tantos
+ * sub-pasos como para no avanzar más de un radio por sub-paso, con la prueba de
+ * solape círculo-rectángulo que usaba el juego antes del barrido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SweptVsSubstepBenchmark {
+
+    private static final int BOLAS = 256;
+    private static final int RADIO = 10;
+    private static final float ANCHO = 1280f;
+    private static final float ALTO = 720f;
+
+    @Param({"6", "12", "24", "48"})
+    public int velocidad;
+
+    @Param({"barrido", "subpasos"})
+    public String modo;
+
+    private final List<Bloque> bloques = new ArrayList<>();
+    private final UniformGridBroadPhase broadPhase = new UniformGridBroadPhase(64f);
+    private final BlockField campo = new BlockField();
+    private final BallStepper stepper = new BallStepper();
+    private final IntArray candidatos = new IntArray();
+    // Las mismas bolas en los dos formatos: el barrido usa el sistema SoA del juego
+    private final List<BolaDiscreta> bolas = new ArrayList<>();
+    private final BallSystem sistema = new BallSystem(BOLAS);
+    private Plataforma piso;
+
+    @Setup
+    public void preparar() {
+        // Campo tipo DIFÍCIL en la mitad superior de la pantalla, con pasillos a los lados
+        broadPhase.reiniciar(ANCHO, ALTO);
+        int id = 0;
+        for (int fila = 0; fila < 9; fila++) {
+            for (int c = 0; c < 14; c++) {
+                Bloque b = new Bloque(60 + c * 82, 380 + fila * 36, 70, 26, null, null, null, null);
+                bloques.add(b);
+                broadPhase.insertar(id++, b.getX(), b.getY(), b.getAncho(), b.getAlto());
+            }
+        }
+        campo.cargar(bloques);
+        piso = new Plataforma(0, 0, (int) ANCHO, 20, null);
+        Random rnd = new Random(7);
+        for (int i = 0; i < BOLAS; i++) {
+            int vx = (rnd.nextBoolean() ? 1 : -1) * Math.max(1, velocidad * (5 + rnd.nextInt(5)) / 10);
+            int vy = (rnd.nextBoolean() ? 1 : -1) * velocidad;
+            int x = 40 + rnd.nextInt(1200), y = 40 + rnd.nextInt(320);
+            bolas.add(new BolaDiscreta(x, y, vx, vy));
+            sistema.agregar(x, y, RADIO, vx, vy, false);
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        int impactos = 0;
+        for (int i = 0; i < BOLAS; i++) {
+            if ("barrido".equals(modo)) {
+                impactos += stepper.avanzar(sistema, i, 1f, campo, campo, piso, ANCHO, ALTO, null);
+            } else {
+                impactos += subpasos(bolas.get(i));
+            }
+        }
+        return impactos;
+    }
+
+    /** Movimiento discreto con sub-pasos de a lo sumo un radio y prueba de solape en cada uno. */
+    private int subpasos(BolaDiscreta b) {
+        int pasos = Math.max(1, (int) Math.ceil(Math.max(Math.abs(b.velX), Math.abs(b.velY)) / (float) RADIO));
+        int impactos = 0;
+        for (int p = 0; p < pasos; p++) {
+            float nx = b.px + b.velX / (float) pasos;
+            float ny = b.py + b.velY / (float) pasos;
+            if (nx - RADIO < 0f || nx + RADIO > ANCHO) b.rebotar(nx - RADIO < 0f ? 1f : -1f, 0f);
+            if (ny + RADIO > ALTO) b.rebotar(0f, -1f);
+            b.px = nx;
+            b.py = ny;
+            candidatos.clear();
+            broadPhase.consultar(nx - RADIO, ny - RADIO, nx + RADIO, ny + RADIO, candidatos);
+            for (int i = 0; i < candidatos.size; i++) {
+                Bloque bloque = bloques.get(candidatos.get(i));
+                if (solapa(b, bloque.getX(), bloque.getY(), bloque.getAncho(), bloque.getAlto())) {
+                    b.rebotar(0f, b.velY > 0 ? -1f : 1f);
+                    bloque.recibirImpacto();
+                }
+            }
+            if (solapa(b, piso.getX(), piso.getY(), piso.getAncho(), piso.getAlto())) b.rebotar(0f, 1f);
+            impactos += candidatos.size;
+        }
+        return impactos;
+    }
+
+    /** Solape discreto en la posición actual: punto del rectángulo más cercano al centro. */
+    private static boolean solapa(BolaDiscreta b, float x, float y, float ancho, float alto) {
+        float dx = b.px - Math.max(x, Math.min(b.px, x + ancho));
+        float dy = b.py - Math.max(y, Math.min(b.py, y + alto));
+        return dx * dx + dy * dy <= RADIO * RADIO;
+    }
+
+    /** Bola de la referencia por sub-pasos: posición y velocidad sueltas, sin el resto del juego. */
+    private static final class BolaDiscreta {
+        float px;
+        float py;
+        int velX;
+        int velY;
+
+        BolaDiscreta(float px, float py, int velX, int velY) {
+            this.px = px;
+            this.py = py;
+            this.velX = velX;
+            this.velY = velY;
+        }
+
+        /** Mismo rebote que BallSystem.rebotar. */
+        void rebotar(float nx, float ny) {
+            boolean contraX = velX * nx < 0f;
+            boolean contraY = velY * ny < 0f;
+            if (contraX && (Math.abs(nx) >= Math.abs(ny) || !contraY)) velX = -velX;
+            else if (contraY) velY = -velY;
+        }
+    }
+}
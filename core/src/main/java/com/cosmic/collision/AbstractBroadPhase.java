@@ -0,0 +1,66 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Base común de las broadphase: guarda el AABB exacto de cada id en arreglos
+ * primitivos para el filtro fino de las consultas.
+ */
+abstract class AbstractBroadPhase implements BroadPhase {
+
+    protected float[] minX = new float[64];
+    protected float[] minY = new float[64];
+    protected float[] maxX = new float[64];
+    protected float[] maxY = new float[64];
+    protected boolean[] activo = new boolean[64];
+
+    protected float anchoMundo;
+    protected float altoMundo;
+
+    @Override
+    public void reiniciar(float anchoMundo, float altoMundo) {
+        this.anchoMundo = Math.max(1f, anchoMundo);
+        this.altoMundo = Math.max(1f, altoMundo);
+        Arrays.fill(activo, false);
+    }
+
+    @Override
+    public void insertar(int id, float x, float y, float ancho, float alto) {
+        asegurarCapacidad(id + 1);
+        minX[id] = x;
+        minY[id] = y;
+        maxX[id] = x + ancho;
+        maxY[id] = y + alto;
+        activo[id] = true;
+    }
+
+    @Override
+    public void quitar(int id) {
+        if (id < 0 || id >= activo.length) return;
+        activo[id] = false;
+    }
+
+    /** Filtro fino: AABB del id contra el rectángulo consultado (bordes inclusivos). */
+    protected final boolean solapa(int id, float qMinX, float qMinY, float qMaxX, float qMaxY) {
+        return activo[id]
+                && minX[id] <= qMaxX && maxX[id] >= qMinX
+                && minY[id] <= qMaxY && maxY[id] >= qMinY;
+    }
+
+    /** Ordena ascendente el tramo [desde, size) recién agregado a la salida. */
+    protected static void ordenarTramo(IntArray salida, int desde) {
+        Arrays.sort(salida.items, desde, salida.size);
+    }
+
+    protected void asegurarCapacidad(int n) {
+        if (n <= activo.length) return;
+        int cap = Math.max(n, activo.length * 2);
+        minX = Arrays.copyOf(minX, cap);
+        minY = Arrays.copyOf(minY, cap);
+        maxX = Arrays.copyOf(maxX, cap);
+        maxY = Arrays.copyOf(maxY, cap);
+        activo = Arrays.copyOf(activo, cap);
+    }
+}
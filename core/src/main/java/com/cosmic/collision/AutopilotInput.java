@@ -0,0 +1,398 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Piloto automático: predice dónde cruza la línea de la paleta la bola que
+ * llegue primero (con los rebotes en las paredes laterales, sin bloques de por
+ * medio) y va a esperarla ahí. Si sobra tiempo antes de esa llegada, sale a
+ * buscar el power-up más conveniente que alcance a recoger y volver.
+ *
+ * La paleta no cambia el ángulo de la bola: solo la corre hasta
+ * Plataforma.DESVIO_MAXIMO px según qué tan lejos del centro la recibe. Sin
+ * anticipación, la corre siempre hacia donde viaja, así que su recorrido barre
+ * de a poco todo el ancho. Con anticipación (setAnticipacion), cada vez que
+ * cambia la llegada prueba los empujes posibles en un mundo gemelo clonado con
+ * WorldSnapshot hasta que la bola vuelve a bajar y se queda con el que más daño
+ * hace; si ninguno toca un bloque, con el que pasa más cerca de uno rompible.
+ * Si eso deja de avanzar, barre a ciegas un rato para salir del mínimo local.
+ *
+ * La decisión se calcula una vez por tick, entre ticks (el mundo pregunta tres
+ * veces). Sin anticipación es O(bolas + power-ups) y no asigna memoria: es el
+ * modo que sirve para miles de mundos sin ventana en paralelo (una instancia
+ * por mundo), para medir el tick y como demo detrás del menú.
+ *
+ * La anticipación no es barata: por cada llegada simula hasta
+ * 2 * DESVIO_MAXIMO + 3 empujes de hasta HORIZONTE_MAXIMO ticks cada uno. En
+ * HeadlessLauncher baja de ~1,3 M a ~4 mil ticks/s en DIFICIL y de ~600 mil a
+ * ~20 mil en MEDIA. Tampoco asigna después de armar el gemelo, y el gemelo
+ * sortea con su propio azar, así que no conoce los drops que vienen.
+ */
+public final class AutopilotInput implements InputSource {
+
+    // Preferencia por tipo (0 = no vale la pena ir a buscarlo)
+    private static final int[] PREFERENCIA = preferencias();
+    // Ticks de margen que se reservan para volver a la bola después de un power-up
+    private static final float MARGEN_TICKS = 12f;
+    // Sin anticipación: distancia al centro de la paleta a la que se recibe la bola
+    private static final float FRACCION_DESVIO = 0.3f;
+    // Cerca de una pared lateral se invierte el lado hacia el que se corre la bola
+    private static final float BORDE_BARRIDO = 0.15f;
+
+    // Anticipación: idas y vueltas simuladas por empuje probado, y tope en ticks
+    private static final int VUELTAS_SIMULADAS = 4;
+    private static final int HORIZONTE_MAXIMO = 3000;
+    // Una llegada que se corre más que esto (un rebote en un bloque, otra bola) se vuelve a planear
+    private static final int TOLERANCIA_LLEGADA = 3;
+    // Cada cuántos ticks del gemelo se mide la distancia de las bolas a los bloques
+    private static final int PASO_MUESTREO = 3;
+    private static final int MAX_BOLAS_MEDIDAS = 8;
+    // Px más allá del borde de la paleta a los que cae la bola cuando se la recibe con la esquina
+    private static final float DESVIO_ESQUINA = 8f;
+    // Planes seguidos sin dañar nada antes de barrer a ciegas, y cuántos dura el barrido
+    private static final int PLANES_SIN_AVANCE = 12;
+    private static final int PLANES_DE_BARRIDO = 24;
+
+    private GameWorld mundo;
+    private long tickDecidido = -1;
+    private float objetivo = Float.NaN;
+    private int lado = 1;
+
+    private boolean anticipar;
+    private GameWorld gemelo;
+    private AutopilotInput pilotoGemelo;
+    private WorldSnapshot captura;
+    // Sorteos propios del gemelo: el snapshot trae los del mundo, que dirían qué drops van a salir
+    private RandomStream azarGemelo;
+    private final IntArray blancos = new IntArray();
+    private long llegadaPlaneada = Long.MIN_VALUE;
+    private float desvioPlaneado;
+    private int planesSinAvance;
+    private int planesDeBarrido;
+    // En el gemelo: recibir siempre a esta distancia del centro (NaN = decidir)
+    private float desvioFijo = Float.NaN;
+
+    /** El mundo se crea con este input ya inyectado, así que se enlaza después. */
+    public void setMundo(GameWorld mundo) {
+        this.mundo = mundo;
+        this.tickDecidido = -1;
+        this.llegadaPlaneada = Long.MIN_VALUE;
+    }
+
+    /**
+     * Elige dónde recibir cada bola simulando los empujes posibles en un mundo
+     * gemelo. Juega mejor (limpia bloques encerrados entre irrompibles) pero
+     * cada tick cuesta cientos de ticks simulados, así que viene apagada y queda
+     * apagada donde se mide el tick.
+     */
+    public void setAnticipacion(boolean activa) {
+        this.anticipar = activa;
+        this.llegadaPlaneada = Long.MIN_VALUE;
+    }
+
+    @Override
+    public boolean izquierda() {
+        decidir();
+        return !Float.isNaN(objetivo) && objetivo < centroPaleta() - zonaMuerta();
+    }
+
+    @Override
+    public boolean derecha() {
+        decidir();
+        return !Float.isNaN(objetivo) && objetivo > centroPaleta() + zonaMuerta();
+    }
+
+    @Override
+    public boolean lanzar() {
+        return mundo != null;
+    }
+
+    /** X hacia donde va la paleta en este tick (NaN = quedarse quieta). */
+    public float getObjetivo() {
+        decidir();
+        return objetivo;
+    }
+
+    private void decidir() {
+        if (mundo == null) {
+            objetivo = Float.NaN;
+            return;
+        }
+        long tick = mundo.getReloj().getTick();
+        if (tick == tickDecidido) return;
+        tickDecidido = tick;
+
+        Plataforma paleta = mundo.getPaleta();
+        BallSystem bolas = mundo.getBolas();
+        float escala = mundo.getPasoSegundos() * GameWorld.FRECUENCIA_REFERENCIA_HZ;
+        float ancho = mundo.getContexto().getAncho();
+        float lineaPaleta = paleta.getY() + paleta.getAlto();
+
+        // Bola que llega primero a la línea de la paleta y dónde la cruza
+        float llegada = Float.MAX_VALUE;
+        float xLlegada = Float.NaN;
+        float vyLlegada = 0f;
+        int sentidoLlegada = 0;
+        // Cota inferior de cuándo puede bajar alguna de las bolas que suben
+        float proximaVuelta = Float.MAX_VALUE;
+        for (int i = 0; i < bolas.size(); i++) {
+            float r = bolas.getRadio(i);
+            float altura = bolas.getPy(i) - r - lineaPaleta;
+            if (bolas.estaQuieta(i)) continue;
+            float vy = bolas.getVelY(i) * escala;
+            if (vy >= 0f) {
+                if (vy > 0f) proximaVuelta = Math.min(proximaVuelta, Math.max(0f, altura) / vy);
+                continue;
+            }
+            if (altura < -r) continue; // ya pasó la paleta: perdida
+            float t = Math.max(0f, altura) / -vy;
+            if (t < llegada) {
+                float vx = bolas.getVelX(i) * escala;
+                llegada = t;
+                vyLlegada = -vy;
+                xLlegada = plegar(bolas.getPx(i) + vx * t, r, ancho - r);
+                sentidoLlegada = (int) Math.signum(vx) * sentidoPlegado(bolas.getPx(i) + vx * t, r, ancho - r);
+            }
+        }
+
+        // Los rebotes son especulares y la paleta solo corre la bola unos px por golpe, así
+        // que la bola puede quedar en un recorrido periódico que no toca los últimos bloques.
+        // Correrla siempre hacia donde viaja desplaza ese recorrido en un solo sentido y
+        // termina pasando por todo el ancho; una bola vertical se corre de pared a pared.
+        if (sentidoLlegada != 0) {
+            lado = sentidoLlegada;
+        } else if (!Float.isNaN(xLlegada)) {
+            if (xLlegada > ancho * (1f - BORDE_BARRIDO)) lado = -1;
+            else if (xLlegada < ancho * BORDE_BARRIDO) lado = 1;
+        }
+
+        float desvio = 0f;
+        if (!Float.isNaN(xLlegada)) {
+            if (!Float.isNaN(desvioFijo)) desvio = desvioFijo;
+            else if (anticipar) desvio = desvioAnticipado(tick, llegada, vyLlegada, lineaPaleta);
+            else desvio = lado * paleta.getAncho() * FRACCION_DESVIO;
+        }
+
+        float centro = centroPaleta();
+        float velPaleta = Math.max(1e-3f, paleta.getVelPxPorSeg() * mundo.getPasoSegundos());
+        float libre = Math.min(llegada, proximaVuelta);
+        float regreso = Float.isNaN(xLlegada) ? centro : xLlegada - desvio;
+
+        // El gemelo no sale a buscar power-ups: solo se prueba dónde recibir la bola
+        float xPowerUp = Float.isNaN(desvioFijo)
+                ? elegirPowerUp(paleta, lineaPaleta, centro, velPaleta, libre, regreso) : Float.NaN;
+        if (!Float.isNaN(xPowerUp)) objetivo = xPowerUp;
+        else if (!Float.isNaN(xLlegada)) objetivo = xLlegada - desvio;
+        else if (bolas.size() > 0) objetivo = bolas.getPx(0); // todas subiendo o quietas: acompañar
+        else objetivo = Float.NaN;
+    }
+
+    /**
+     * Desvío (bola menos centro de la paleta) con que recibir la llegada actual;
+     * solo se vuelve a planear cuando la llegada cambia.
+     */
+    private float desvioAnticipado(long tick, float llegada, float vyLlegada, float lineaPaleta) {
+        long tickLlegada = tick + Math.round(llegada);
+        if (Math.abs(tickLlegada - llegadaPlaneada) > TOLERANCIA_LLEGADA) {
+            llegadaPlaneada = tickLlegada;
+            // Ida y vuelta hasta el techo: lo que tarda la bola en volver a la paleta
+            float vuelta = 2f * (mundo.getContexto().getAlto() - lineaPaleta) / Math.max(1e-3f, vyLlegada);
+            planear((int) llegada, (int) Math.min(HORIZONTE_MAXIMO, Math.ceil(llegada + VUELTAS_SIMULADAS * vuelta)));
+        }
+        return desvioPlaneado;
+    }
+
+    /**
+     * Prueba en el gemelo cada empuje posible (de -DESVIO_MAXIMO a DESVIO_MAXIMO)
+     * durante horizonte ticks y deja en desvioPlaneado el mejor. Se prueban
+     * primero los que corren la bola hacia lado, así un empate repite el barrido.
+     */
+    private void planear(int llegada, int horizonte) {
+        if (gemelo == null) crearGemelo();
+        captura.guardar(mundo);
+        BlockField campo = mundo.getCampo();
+        blancos.clear();
+        int hpInicial = 0;
+        for (int c = campo.siguienteOcupada(0); c >= 0; c = campo.siguienteOcupada(c + 1)) {
+            if (campo.esIrrompible(c)) continue;
+            blancos.add(c);
+            hpInicial += campo.getHp(c);
+        }
+        int vidas = mundo.getVidas();
+        int bolas = mundo.getCantidadBolas();
+        int nivel = mundo.getNivel();
+        int puntaje = mundo.getPuntaje();
+        boolean aCiegas = planesDeBarrido > 0;
+        long semillaPlan = azarGemelo.nextLong();
+
+        float medio = mundo.getPaleta().getAncho() / 2f;
+        int maxEmpuje = Math.min(Plataforma.DESVIO_MAXIMO, (int) (medio / Plataforma.PASO_DESVIO));
+        float mejor = Float.NEGATIVE_INFINITY;
+        boolean avanzo = false;
+        int candidatos = 2 * maxEmpuje + 3;
+        for (int j = 0; j < candidatos; j++) {
+            float desvio;
+            if (j <= 2 * maxEmpuje) {
+                int k = (maxEmpuje - j) * lado;
+                desvio = k == 0 ? 0f : Math.signum(k)
+                        * Math.min(Math.abs(k) * Plataforma.PASO_DESVIO + Plataforma.PASO_DESVIO / 2f, medio);
+            } else {
+                // Recibirla con la esquina: el golpe de costado invierte su sentido horizontal
+                desvio = (j == candidatos - 2 ? lado : -lado) * (medio + DESVIO_ESQUINA);
+            }
+            captura.restaurar(gemelo);
+            gemelo.rebarajarAzar(semillaPlan);
+            pilotoGemelo.desvioFijo = desvio;
+            pilotoGemelo.setMundo(gemelo);
+
+            float distancia = Float.MAX_VALUE;
+            boolean perdio = false, completo = false;
+            for (int t = 0; t < horizonte; t++) {
+                gemelo.actualizar();
+                if (gemelo.getVidas() < vidas) { perdio = true; break; }
+                if (gemelo.getNivel() != nivel) { completo = true; break; }
+                if (!aCiegas && distancia > 0f && t > llegada && t % PASO_MUESTREO == 0) {
+                    distancia = Math.min(distancia, distanciaABlancos(gemelo));
+                }
+            }
+            float valor;
+            if (perdio) {
+                valor = -1e9f;
+            } else if (completo) {
+                valor = 1e9f;
+            } else if (gemelo.getCantidadBolas() < bolas) {
+                valor = -1e6f * (bolas - gemelo.getCantidadBolas());
+            } else if (aCiegas) {
+                valor = 0f;
+            } else {
+                int danio = hpInicial - hpRompible(gemelo.getCampo());
+                valor = (gemelo.getPuntaje() - puntaje) * 1000f + danio * 100f - distancia;
+            }
+            if (valor > mejor) {
+                mejor = valor;
+                desvioPlaneado = desvio;
+                avanzo = valor >= 100f;
+            }
+        }
+
+        if (aCiegas) {
+            planesDeBarrido--;
+        } else if (avanzo) {
+            planesSinAvance = 0;
+        } else if (++planesSinAvance >= PLANES_SIN_AVANCE) {
+            planesSinAvance = 0;
+            planesDeBarrido = PLANES_DE_BARRIDO;
+        }
+    }
+
+    /** Menor distancia entre alguna bola y alguno de los blancos que siguen en pie. */
+    private float distanciaABlancos(GameWorld g) {
+        BallSystem bolas = g.getBolas();
+        BlockField campo = g.getCampo();
+        float ancho = campo.getAnchoCelda(), alto = campo.getAltoCelda();
+        float minimo = Float.MAX_VALUE;
+        for (int i = 0, n = Math.min(bolas.size(), MAX_BOLAS_MEDIDAS); i < n; i++) {
+            float x = bolas.getPx(i), y = bolas.getPy(i);
+            for (int j = 0; j < blancos.size; j++) {
+                int c = blancos.get(j);
+                if (!campo.estaOcupada(c)) continue;
+                float x0 = campo.getX(c), y0 = campo.getY(c);
+                float dx = Math.max(0f, Math.max(x0 - x, x - (x0 + ancho)));
+                float dy = Math.max(0f, Math.max(y0 - y, y - (y0 + alto)));
+                minimo = Math.min(minimo, dx * dx + dy * dy);
+            }
+        }
+        return minimo == Float.MAX_VALUE ? 0f : (float) Math.sqrt(minimo);
+    }
+
+    private int hpRompible(BlockField campo) {
+        int hp = 0;
+        for (int j = 0; j < blancos.size; j++) {
+            int c = blancos.get(j);
+            if (campo.estaOcupada(c)) hp += campo.getHp(c);
+        }
+        return hp;
+    }
+
+    /** Mundo sin ventana con el mismo tamaño, manejado por un piloto que recibe con desvío fijo. */
+    private void crearGemelo() {
+        WorldContext ctx = mundo.getContexto();
+        pilotoGemelo = new AutopilotInput();
+        pilotoGemelo.desvioFijo = 0f;
+        gemelo = new GameWorld(new DefaultBlockFactory(null, null, null, null), null, mundo.getSettings(), 0L,
+                null, new WorldContext(ctx.getAncho(), ctx.getAlto(), pilotoGemelo));
+        pilotoGemelo.setMundo(gemelo);
+        captura = new WorldSnapshot();
+        azarGemelo = new RandomStream(~mundo.getSemilla());
+    }
+
+    /**
+     * El power-up con mayor preferencia que se alcanza a recoger y volver a regreso
+     * antes de libre ticks; NaN si ninguno conviene.
+     */
+    private float elegirPowerUp(Plataforma paleta, float lineaPaleta, float centro, float velPaleta,
+                                float libre, float regreso) {
+        Array<PowerUp> powerUps = mundo.getPowerUps();
+        float caida = PowerUp.VEL_Y_PX_POR_SEG * mundo.getPasoSegundos();
+        float mejorX = Float.NaN;
+        int mejorPreferencia = 0;
+        float mejorTiempo = Float.MAX_VALUE;
+        for (int i = 0; i < powerUps.size; i++) {
+            PowerUp p = powerUps.get(i);
+            int pref = PREFERENCIA[p.getTipo().ordinal()];
+            if (pref == 0 || p.getY() + p.getAlto() < paleta.getY()) continue;
+            float x = p.getX() + p.getAncho() / 2f;
+            float cae = Math.max(0f, p.getY() - lineaPaleta) / caida;
+            float viaje = Math.abs(x - centro) / velPaleta;
+            float recoger = Math.max(cae, viaje);
+            float total = recoger + Math.abs(regreso - x) / velPaleta + MARGEN_TICKS;
+            if (total > libre) continue;
+            if (pref > mejorPreferencia || (pref == mejorPreferencia && recoger < mejorTiempo)) {
+                mejorPreferencia = pref;
+                mejorTiempo = recoger;
+                mejorX = x;
+            }
+        }
+        return mejorX;
+    }
+
+    /** Refleja x dentro de [min, max] como lo hacen los rebotes en las paredes laterales. */
+    static float plegar(float x, float min, float max) {
+        float largo = max - min;
+        if (largo <= 0f) return min;
+        float u = (x - min) % (2f * largo);
+        if (u < 0f) u += 2f * largo;
+        return u <= largo ? min + u : max - (u - largo);
+    }
+
+    /** 1 si tras plegar x la bola viaja en su sentido original, -1 si un número impar de rebotes lo invirtió. */
+    static int sentidoPlegado(float x, float min, float max) {
+        float largo = max - min;
+        if (largo <= 0f) return 1;
+        float u = (x - min) % (2f * largo);
+        if (u < 0f) u += 2f * largo;
+        return u <= largo ? 1 : -1;
+    }
+
+    private float centroPaleta() {
+        Plataforma p = mundo.getPaleta();
+        return p.getPosX() + p.getAncho() / 2f;
+    }
+
+    /** Media zancada de la paleta por tick: más cerca que eso, moverse solo haría oscilar. */
+    private float zonaMuerta() {
+        return Math.max(2f, mundo.getPaleta().getVelPxPorSeg() * mundo.getPasoSegundos() * 0.5f);
+    }
+
+    private static int[] preferencias() {
+        int[] p = new int[PowerUpType.values().length];
+        p[PowerUpType.EXTRA_LIFE.ordinal()] = 5;
+        p[PowerUpType.PADDLE_GROW.ordinal()] = 4;
+        p[PowerUpType.EXPLOSIVE_BALL.ordinal()] = 3;
+        p[PowerUpType.SPEED_DOWN.ordinal()] = 2;
+        // PADDLE_SHRINK y SPEED_UP no se buscan; SPLIT_BALL tampoco: deja una bola vertical
+        // (vx = 0) que solo se mueve con los empujones de la paleta y puede quedar pegada a una pared
+        return p;
+    }
+}
@@ -0,0 +1,115 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Avanza una bola un tick con colisión barrida: busca el primer impacto del
+ * recorrido (paredes, celdas del BlockField y paleta), avanza hasta él,
+ * rebota con la normal correcta y continúa con el desplazamiento restante.
+ * Así varios impactos de un mismo tick se resuelven en orden y el resultado
+ * no depende de lo grande que sea el paso.
+ * Guarda su propio espacio de trabajo: usar una instancia por hilo.
+ */
+public class BallStepper {
+
+    public interface Listener {
+        void alImpactarBloque(int bola, int celda);
+        void alImpactarPaleta(int bola);
+    }
+
+    /** Tope de impactos por bola y tick (evita ciclos si la bola queda encajada). */
+    public static final int MAX_IMPACTOS_POR_TICK = 8;
+
+    private static final float SIN_IMPACTO = 2f;
+    private static final float CONTACTO = 1e-4f;
+
+    private final IntArray candidatos = new IntArray();
+    private final SweptCollision.Impacto prueba = new SweptCollision.Impacto();
+    private final SweptCollision.Impacto mejor = new SweptCollision.Impacto();
+
+    /**
+     * @param escala fracción de la velocidad a recorrer en este tick: las velocidades
+     *               de la bola están en px por frame de referencia (1/60 s).
+     * @param indice broadphase cuyos ids son celdas del campo (normalmente el propio campo).
+     * @return cantidad de impactos resueltos (paredes incluidas).
+     */
+    public int avanzar(BallSystem bolas, int b, float escala, BroadPhase indice, BlockField campo,
+                       Plataforma paleta, float anchoMundo, float altoMundo, Listener listener) {
+        float restante = escala;
+        int impactos = 0;
+        // Signo de la última normal en contacto inmediato (t = 0) por eje; si llega la
+        // opuesta, la bola está encajada entre dos superficies y ese eje se bloquea
+        int contactoX = 0, contactoY = 0;
+        boolean trabadoX = false, trabadoY = false;
+        while (restante > 0f && impactos < MAX_IMPACTOS_POR_TICK && !(trabadoX && trabadoY)) {
+            float cx = bolas.getPx(b), cy = bolas.getPy(b), r = bolas.getRadio(b);
+            float dx = trabadoX ? 0f : bolas.getVelX(b) * restante;
+            float dy = trabadoY ? 0f : bolas.getVelY(b) * restante;
+            mejor.set(SIN_IMPACTO, 0f, 0f);
+            int celda = -1;
+            boolean golpeoPaleta = false;
+
+            // Paredes izquierda, derecha y superior (abajo no hay pared)
+            if (dx < 0f) probarPared(cx - r <= 0f ? 0f : (r - cx) / dx, 1f, 0f);
+            else if (dx > 0f) probarPared(cx + r >= anchoMundo ? 0f : (anchoMundo - r - cx) / dx, -1f, 0f);
+            if (dy > 0f) probarPared(cy + r >= altoMundo ? 0f : (altoMundo - r - cy) / dy, 0f, -1f);
+
+            // Bloques cercanos al tramo restante
+            candidatos.clear();
+            indice.consultar(Math.min(cx, cx + dx) - r, Math.min(cy, cy + dy) - r,
+                    Math.max(cx, cx + dx) + r, Math.max(cy, cy + dy) + r, candidatos);
+            int aw = campo.getAnchoCelda(), ah = campo.getAltoCelda();
+            for (int i = 0; i < candidatos.size; i++) {
+                int c = candidatos.get(i);
+                int bx = campo.getX(c), by = campo.getY(c);
+                if (probar(cx, cy, r, dx, dy, bx, by, bx + aw, by + ah)) celda = c;
+            }
+
+            if (paleta != null && probar(cx, cy, r, dx, dy, paleta.getX(), paleta.getY(),
+                    paleta.getX() + paleta.getAncho(), paleta.getY() + paleta.getAlto())) {
+                golpeoPaleta = true;
+                celda = -1;
+            }
+
+            if (mejor.t > 1f) {
+                bolas.moverA(b, cx + dx, cy + dy);
+                break;
+            }
+            bolas.moverA(b, cx + dx * mejor.t, cy + dy * mejor.t);
+            bolas.rebotar(b, mejor.nx, mejor.ny);
+            impactos++;
+            if (mejor.t <= CONTACTO) {
+                if (Math.abs(mejor.nx) >= Math.abs(mejor.ny)) {
+                    int signo = mejor.nx > 0f ? 1 : -1;
+                    if (contactoX == -signo) trabadoX = true;
+                    contactoX = signo;
+                } else {
+                    int signo = mejor.ny > 0f ? 1 : -1;
+                    if (contactoY == -signo) trabadoY = true;
+                    contactoY = signo;
+                }
+            }
+            if (listener != null) {
+                if (golpeoPaleta) listener.alImpactarPaleta(b);
+                else if (celda >= 0) listener.alImpactarBloque(b, celda);
+            }
+            restante *= (1f - mejor.t);
+        }
+        return impactos;
+    }
+
+    private void probarPared(float t, float nx, float ny) {
+        if (t <= 1f && t < mejor.t) mejor.set(t, nx, ny);
+    }
+
+    /** Solo reemplaza al mejor si es estrictamente anterior: en empate gana el primero probado. */
+    private boolean probar(float cx, float cy, float r, float dx, float dy,
+                           float minX, float minY, float maxX, float maxY) {
+        if (!SweptCollision.circuloContraAabb(cx, cy, r, dx, dy, minX, minY, maxX, maxY, prueba)) {
+            return false;
+        }
+        if (prueba.t >= mejor.t) return false;
+        mejor.copiar(prueba);
+        return true;
+    }
+}
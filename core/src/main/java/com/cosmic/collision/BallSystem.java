@@ -0,0 +1,224 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.graphics.Color;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Conjunto de bolas en arreglos paralelos (struct-of-arrays) con índice denso.
+ * Agregar y quitar no asignan memoria salvo al crecer la capacidad, y una bola
+ * perdida se recicla con swap-remove.
+ * Velocidades en px por frame de referencia (60 Hz), enteras como en el juego original.
+ * Tiene un tope blando (maxBolas): agregar por encima del tope se ignora.
+ */
+public class BallSystem {
+
+    public static final int COLOR_BLANCO = 0;
+    public static final int COLOR_VERDE = 1;
+    private static final float[] COLORES_EMPAQUETADOS = { Color.WHITE.toFloatBits(), Color.GREEN.toFloatBits() };
+
+    private float[] px = new float[16];
+    private float[] py = new float[16];
+    private float[] prevPx = new float[16];
+    private float[] prevPy = new float[16];
+    private int[] velX = new int[16];
+    private int[] velY = new int[16];
+    private int[] baseVelX = new int[16];
+    private int[] baseVelY = new int[16];
+    private int[] radio = new int[16];
+    private byte[] color = new byte[16];
+    private boolean[] quieta = new boolean[16];
+    private int size;
+    private int maxBolas;
+
+    private float[] interpoladas = new float[32];
+
+    public BallSystem(int maxBolas) {
+        setMaxBolas(maxBolas);
+    }
+
+    /** Tope blando de bolas simultáneas. No quita las que ya existen. */
+    public void setMaxBolas(int max) {
+        this.maxBolas = Math.max(1, max);
+    }
+
+    public int getMaxBolas() { return maxBolas; }
+    public int size() { return size; }
+    public boolean estaLleno() { return size >= maxBolas; }
+    /** Bolas que entran sin que crezcan los arreglos. */
+    public int getCapacidad() { return px.length; }
+
+    /** @return índice de la nueva bola, o -1 si se alcanzó el tope. */
+    public int agregar(float x, float y, int r, int vx, int vy, boolean iniciaQuieta) {
+        if (size >= maxBolas) return -1;
+        if (size == px.length) crecer(size * 2);
+        int i = size++;
+        reiniciar(i, x, y, vx, vy, iniciaQuieta);
+        radio[i] = r;
+        return i;
+    }
+
+    /** Reutiliza la bola i como si fuera recién creada. */
+    public void reiniciar(int i, float x, float y, int vx, int vy, boolean iniciaQuieta) {
+        px[i] = prevPx[i] = x;
+        py[i] = prevPy[i] = y;
+        velX[i] = baseVelX[i] = vx;
+        velY[i] = baseVelY[i] = vy;
+        color[i] = COLOR_BLANCO;
+        quieta[i] = iniciaQuieta;
+    }
+
+    /** Quita la bola i moviendo la última a su lugar (los índices mayores que i cambian). */
+    public void quitar(int i) {
+        int u = --size;
+        if (i == u) return;
+        px[i] = px[u];
+        py[i] = py[u];
+        prevPx[i] = prevPx[u];
+        prevPy[i] = prevPy[u];
+        velX[i] = velX[u];
+        velY[i] = velY[u];
+        baseVelX[i] = baseVelX[u];
+        baseVelY[i] = baseVelY[u];
+        radio[i] = radio[u];
+        color[i] = color[u];
+        quieta[i] = quieta[u];
+    }
+
+    public void limpiar() {
+        size = 0;
+    }
+
+    private void crecer(int capacidad) {
+        px = Arrays.copyOf(px, capacidad);
+        py = Arrays.copyOf(py, capacidad);
+        prevPx = Arrays.copyOf(prevPx, capacidad);
+        prevPy = Arrays.copyOf(prevPy, capacidad);
+        velX = Arrays.copyOf(velX, capacidad);
+        velY = Arrays.copyOf(velY, capacidad);
+        baseVelX = Arrays.copyOf(baseVelX, capacidad);
+        baseVelY = Arrays.copyOf(baseVelY, capacidad);
+        radio = Arrays.copyOf(radio, capacidad);
+        color = Arrays.copyOf(color, capacidad);
+        quieta = Arrays.copyOf(quieta, capacidad);
+    }
+
+    // ----------------- snapshot -----------------
+
+    /** Bytes que ocupa escribir() con las bolas actuales. */
+    int tamanoSnapshot() {
+        return 8 + size * (4 * 4 + 5 * 4 + 2);
+    }
+
+    void escribir(ByteBuffer buf) {
+        buf.putInt(maxBolas).putInt(size);
+        for (int i = 0; i < size; i++) {
+            buf.putFloat(px[i]).putFloat(py[i]).putFloat(prevPx[i]).putFloat(prevPy[i]);
+            buf.putInt(velX[i]).putInt(velY[i]).putInt(baseVelX[i]).putInt(baseVelY[i]).putInt(radio[i]);
+            buf.put(color[i]).put(quieta[i] ? (byte) 1 : 0);
+        }
+    }
+
+    void leer(ByteBuffer buf) {
+        maxBolas = buf.getInt();
+        int n = buf.getInt();
+        if (n > px.length) crecer(Math.max(n, px.length * 2));
+        size = n;
+        for (int i = 0; i < n; i++) {
+            px[i] = buf.getFloat();
+            py[i] = buf.getFloat();
+            prevPx[i] = buf.getFloat();
+            prevPy[i] = buf.getFloat();
+            velX[i] = buf.getInt();
+            velY[i] = buf.getInt();
+            baseVelX[i] = buf.getInt();
+            baseVelY[i] = buf.getInt();
+            radio[i] = buf.getInt();
+            color[i] = buf.get();
+            quieta[i] = buf.get() != 0;
+        }
+    }
+
+    // ----------------- estado por bola -----------------
+
+    public float getPx(int i) { return px[i]; }
+    public float getPy(int i) { return py[i]; }
+    public int getX(int i) { return Math.round(px[i]); }
+    public int getY(int i) { return Math.round(py[i]); }
+    public int getVelX(int i) { return velX[i]; }
+    public int getVelY(int i) { return velY[i]; }
+    public int getRadio(int i) { return radio[i]; }
+    public int getColor(int i) { return color[i]; }
+    public boolean estaQuieta(int i) { return quieta[i]; }
+
+    public void setEstaQuieta(int i, boolean b) { quieta[i] = b; }
+    public void setColor(int i, int indiceColor) { color[i] = (byte) indiceColor; }
+
+    public void moverA(int i, float x, float y) {
+        px[i] = x;
+        py[i] = y;
+    }
+
+    /** Guarda la posición actual de todas las bolas como la del tick anterior. */
+    public void guardarEstadoPrevio() {
+        System.arraycopy(px, 0, prevPx, 0, size);
+        System.arraycopy(py, 0, prevPy, 0, size);
+    }
+
+    /**
+     * Refleja la velocidad según la normal del impacto. Las caras son ejes, así que
+     * basta invertir la componente dominante (en esquinas, la de mayor peso que
+     * apunte contra la superficie).
+     */
+    public void rebotar(int i, float nx, float ny) {
+        boolean contraX = velX[i] * nx < 0f;
+        boolean contraY = velY[i] * ny < 0f;
+        if (contraX && (Math.abs(nx) >= Math.abs(ny) || !contraY)) velX[i] = -velX[i];
+        else if (contraY) velY[i] = -velY[i];
+    }
+
+    /** Multiplicador sobre la velocidad base (m &gt; 0), conservando la dirección actual. */
+    public void aplicarMultiplicadorVelocidad(int i, float m) {
+        if (m <= 0f) return;
+        int signX = velX[i] >= 0 ? 1 : -1;
+        int signY = velY[i] >= 0 ? 1 : -1;
+        velX[i] = signX * Math.max(1, Math.round(Math.abs(baseVelX[i] * m)));
+        velY[i] = signY * Math.max(1, Math.round(Math.abs(baseVelY[i] * m)));
+    }
+
+    public void restaurarVelBase(int i) {
+        velX[i] = (baseVelX[i] >= 0 ? 1 : -1) * Math.abs(baseVelX[i]);
+        velY[i] = (baseVelY[i] >= 0 ? 1 : -1) * Math.abs(baseVelY[i]);
+    }
+
+    /** Reacción al tocar la paleta: se pinta de verde y recibe el desvío lateral. */
+    public void alChocarConPaleta(int i, Plataforma paleta) {
+        color[i] = COLOR_VERDE;
+        px[i] += paleta.desvioHorizontal(getX(i));
+    }
+
+    // ----------------- dibujo -----------------
+
+    /**
+     * Escribe en un buffer reutilizable las posiciones interpoladas (x0, y0, x1, y1...)
+     * entre el tick anterior y el actual. Es la parte del dibujo que no toca GL.
+     */
+    public float[] interpolar(float alfa) {
+        if (interpoladas.length < size * 2) interpoladas = new float[px.length * 2];
+        float[] out = interpoladas;
+        for (int i = 0, j = 0; i < size; i++, j += 2) {
+            out[j] = prevPx[i] + (px[i] - prevPx[i]) * alfa;
+            out[j + 1] = prevPy[i] + (py[i] - prevPy[i]) * alfa;
+        }
+        return out;
+    }
+
+    /** Anota todas las bolas en la cola como círculos teñidos (sin teselar). */
+    public void dibujar(RenderQueue cola, float alfa) {
+        float[] xy = interpolar(alfa);
+        for (int i = 0, j = 0; i < size; i++, j += 2) {
+            cola.circulo(xy[j], xy[j + 1], radio[i], COLORES_EMPAQUETADOS[color[i]]);
+        }
+    }
+}
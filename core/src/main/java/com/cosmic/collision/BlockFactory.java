@@ -4,7 +4,9 @@ import java.util.List;
 
 /**
  * Abstract Factory: interfaz para crear familias de Bloque.
+ * Todo el azar de la generación sale de azar (el flujo de niveles del mundo),
+ * así que la misma semilla produce los mismos niveles.
  */
 public interface BlockFactory {
-    List<Bloque> crearBloques(int filas, DifficultySettings settings, float anchoMundo, float altoMundo);
+    List<Bloque> crearBloques(int filas, DifficultySettings settings, float anchoMundo, float altoMundo, RandomStream azar);
 }
\ No newline at end of file
@@ -0,0 +1,392 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Bits;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Campo de bloques compacto direccionado por fila/columna.
+ * En lugar de un objeto Bloque por asteroide guarda hp y flags en arreglos
+ * primitivos y la ocupación en un bitset; las texturas se comparten.
+ * La fila 0 es la superior y las celdas se numeran fila * cols + col, que es
+ * el mismo orden en que BlockFactory emite los bloques.
+ * También actúa como broadphase: una consulta se traduce a rangos de filas y
+ * columnas en O(1), sin estructuras auxiliares.
+ * Anota además qué celdas cambiaron de aspecto (golpe, destrucción, retiro) para
+ * que BlockLayer redibuje solo esas en su capa en caché.
+ */
+public class BlockField implements BroadPhase {
+
+    private static final byte IRROMPIBLE = 1;
+    private static final byte DESTRUIDO = 2; // hp llegó a 0; sigue ocupando su celda hasta retirar()
+
+    private int cols;
+    private int filas;
+    private int x0;       // x de la columna 0
+    private int yTop;     // y (borde inferior) de la fila 0
+    private int anchoCelda;
+    private int altoCelda;
+    private int pasoX;
+    private int pasoY;
+
+    private byte[] hp = new byte[0];
+    private byte[] flags = new byte[0];
+    private long[] ocupadas = new long[0];
+    private int vivos;
+    private int rompibles;       // celdas ocupadas que no son irrompibles
+
+    private TextureRegion txNormal;
+    private TextureRegion txDuro2;
+    private TextureRegion txDuro3;
+    private TextureRegion txIrrompible;
+
+    // Celdas a redibujar desde el último limpiarSucias(); todoSucio = la retícula entera
+    private final Bits sucias = new Bits();
+    private final IntArray listaSucias = new IntArray();
+    private boolean todoSucio = true;
+
+    /**
+     * Carga los bloques de una fábrica. Deben formar una grilla regular (mismo tamaño,
+     * posiciones sobre una retícula), como la que genera DefaultBlockFactory.
+     */
+    public void cargar(List<Bloque> bloques) {
+        vivos = 0;
+        rompibles = 0;
+        marcarTodoSucio();
+        if (bloques.isEmpty()) {
+            cols = filas = 0;
+            Arrays.fill(ocupadas, 0L);
+            return;
+        }
+        Bloque primero = bloques.get(0);
+        anchoCelda = primero.getAncho();
+        altoCelda = primero.getAlto();
+        txNormal = primero.getTexturaNormal();
+        txDuro2 = primero.getTexturaResistente2();
+        txDuro3 = primero.getTexturaResistente3();
+        txIrrompible = primero.getTexturaIrrompible();
+
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
+        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < bloques.size(); i++) {
+            Bloque b = bloques.get(i);
+            if (b.getAncho() != anchoCelda || b.getAlto() != altoCelda) {
+                throw new IllegalArgumentException("BlockField requiere bloques del mismo tamaño");
+            }
+            minX = Math.min(minX, b.getX());
+            maxX = Math.max(maxX, b.getX());
+            minY = Math.min(minY, b.getY());
+            maxY = Math.max(maxY, b.getY());
+        }
+        pasoX = menorSeparacion(bloques, true, minX, anchoCelda);
+        pasoY = menorSeparacion(bloques, false, minY, altoCelda);
+        x0 = minX;
+        yTop = maxY;
+        cols = (maxX - minX) / pasoX + 1;
+        filas = (maxY - minY) / pasoY + 1;
+
+        int n = cols * filas;
+        if (hp.length < n) {
+            hp = new byte[n];
+            flags = new byte[n];
+        } else {
+            Arrays.fill(hp, 0, n, (byte) 0);
+            Arrays.fill(flags, 0, n, (byte) 0);
+        }
+        int palabras = (n + 63) >>> 6;
+        if (ocupadas.length < palabras) ocupadas = new long[palabras];
+        else Arrays.fill(ocupadas, 0L);
+
+        for (int i = 0; i < bloques.size(); i++) {
+            Bloque b = bloques.get(i);
+            if ((b.getX() - x0) % pasoX != 0 || (yTop - b.getY()) % pasoY != 0) {
+                throw new IllegalArgumentException("BlockField requiere una grilla regular");
+            }
+            int c = celda((yTop - b.getY()) / pasoY, (b.getX() - x0) / pasoX);
+            if (estaOcupada(c)) continue;
+            hp[c] = (byte) b.getHp();
+            flags[c] = b.esIrrompible() ? IRROMPIBLE : 0;
+            if (b.estaDestruido()) flags[c] |= DESTRUIDO;
+            ocupadas[c >>> 6] |= 1L << c;
+            vivos++;
+            if (!b.esIrrompible()) rompibles++;
+        }
+    }
+
+    /** Paso de la retícula en un eje: menor distancia positiva entre posiciones distintas. */
+    private static int menorSeparacion(List<Bloque> bloques, boolean ejeX, int minimo, int porDefecto) {
+        int paso = Integer.MAX_VALUE;
+        for (int i = 0; i < bloques.size(); i++) {
+            Bloque b = bloques.get(i);
+            int d = (ejeX ? b.getX() : b.getY()) - minimo;
+            if (d > 0 && d < paso) paso = d;
+        }
+        if (paso == Integer.MAX_VALUE) return Math.max(1, porDefecto);
+        // El paso real divide a todas las distancias (p. ej. si falta la segunda columna)
+        for (int i = 0; i < bloques.size(); i++) {
+            Bloque b = bloques.get(i);
+            paso = mcd(paso, (ejeX ? b.getX() : b.getY()) - minimo);
+        }
+        return paso;
+    }
+
+    private static int mcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    // ----------------- direccionamiento -----------------
+
+    public int getCols() { return cols; }
+    public int getFilas() { return filas; }
+    public int getCapacidad() { return cols * filas; }
+    public int getVivos() { return vivos; }
+    /** Celdas que todavía se pueden romper; con 0 el nivel está completo aunque queden irrompibles. */
+    public int getRompiblesVivos() { return rompibles; }
+    public int getAnchoCelda() { return anchoCelda; }
+    public int getAltoCelda() { return altoCelda; }
+
+    public int celda(int fila, int col) { return fila * cols + col; }
+    public int filaDe(int celda) { return celda / cols; }
+    public int colDe(int celda) { return celda % cols; }
+    public int getX(int celda) { return x0 + colDe(celda) * pasoX; }
+    public int getY(int celda) { return yTop - filaDe(celda) * pasoY; }
+
+    /** Celda ocupada que contiene el punto, o -1 (incluye los huecos entre bloques). */
+    public int celdaEn(float x, float y) {
+        if (cols == 0) return -1;
+        int col = (int) Math.floor((x - x0) / pasoX);
+        int fila = (int) Math.floor((yTop + altoCelda - y) / pasoY);
+        if (col < 0 || col >= cols || fila < 0 || fila >= filas) return -1;
+        int c = celda(fila, col);
+        if (!estaOcupada(c)) return -1;
+        float lx = x - getX(c), ly = y - getY(c);
+        return (lx <= anchoCelda && ly >= 0 && ly <= altoCelda) ? c : -1;
+    }
+
+    public boolean estaOcupada(int celda) {
+        return (ocupadas[celda >>> 6] & (1L << celda)) != 0;
+    }
+
+    /** Siguiente celda ocupada desde (inclusive) la dada, o -1. Recorre el bitset por palabras. */
+    public int siguienteOcupada(int desde) {
+        int n = cols * filas;
+        if (desde >= n) return -1;
+        int w = desde >>> 6;
+        long palabra = ocupadas[w] & (-1L << desde);
+        while (true) {
+            if (palabra != 0) {
+                int c = (w << 6) + Long.numberOfTrailingZeros(palabra);
+                return c < n ? c : -1;
+            }
+            if (++w >= (n + 63) >>> 6) return -1;
+            palabra = ocupadas[w];
+        }
+    }
+
+    // ----------------- estado por celda -----------------
+
+    public int getHp(int celda) { return hp[celda]; }
+    public boolean esIrrompible(int celda) { return (flags[celda] & IRROMPIBLE) != 0; }
+    public boolean estaDestruida(int celda) { return (flags[celda] & DESTRUIDO) != 0; }
+
+    /** Un golpe de bola. Devuelve true si la celda quedó destruida con este golpe. */
+    public boolean recibirImpacto(int celda) {
+        byte f = flags[celda];
+        if ((f & (DESTRUIDO | IRROMPIBLE)) != 0) return false;
+        marcarSucia(celda);
+        if (--hp[celda] <= 0) {
+            flags[celda] = (byte) (f | DESTRUIDO);
+            return true;
+        }
+        return false;
+    }
+
+    /** Destrucción directa (explosión). Devuelve true si la celda pasó a destruida ahora. */
+    public boolean destruir(int celda) {
+        byte f = flags[celda];
+        if ((f & (DESTRUIDO | IRROMPIBLE)) != 0) return false;
+        hp[celda] = 0;
+        flags[celda] = (byte) (f | DESTRUIDO);
+        marcarSucia(celda);
+        return true;
+    }
+
+    /** Quita la celda del campo (deja de colisionar y de dibujarse). */
+    public void retirar(int celda) {
+        if (!estaOcupada(celda)) return;
+        ocupadas[celda >>> 6] &= ~(1L << celda);
+        vivos--;
+        if (!esIrrompible(celda)) rompibles--;
+        marcarSucia(celda);
+    }
+
+    // ----------------- celdas sucias -----------------
+
+    private void marcarSucia(int celda) {
+        if (!todoSucio && !sucias.getAndSet(celda)) listaSucias.add(celda);
+    }
+
+    private void marcarTodoSucio() {
+        todoSucio = true;
+        sucias.clear();
+        listaSucias.clear();
+    }
+
+    /** true si hay que redibujar la retícula entera (nivel nuevo, snapshot restaurado). */
+    public boolean isTodoSucio() { return todoSucio; }
+
+    /** Celdas que cambiaron de aspecto desde el último limpiarSucias(), sin repetidas. */
+    public IntArray getCeldasSucias() { return listaSucias; }
+
+    public void limpiarSucias() {
+        todoSucio = false;
+        sucias.clear();
+        listaSucias.clear();
+    }
+
+    // ----------------- snapshot -----------------
+
+    /** Bytes que ocupa escribir(): retícula, vida y ocupación de cada celda (sin texturas). */
+    int tamanoSnapshot() {
+        int n = cols * filas;
+        return 9 * 4 + 2 * n + 8 * ((n + 63) >>> 6);
+    }
+
+    void escribir(ByteBuffer buf) {
+        buf.putInt(cols).putInt(filas).putInt(x0).putInt(yTop)
+                .putInt(anchoCelda).putInt(altoCelda).putInt(pasoX).putInt(pasoY).putInt(vivos);
+        int n = cols * filas;
+        buf.put(hp, 0, n).put(flags, 0, n);
+        for (int w = 0, palabras = (n + 63) >>> 6; w < palabras; w++) buf.putLong(ocupadas[w]);
+    }
+
+    /** Restaura la retícula; las texturas siguen siendo las del último cargar(). */
+    void leer(ByteBuffer buf) {
+        cols = buf.getInt();
+        filas = buf.getInt();
+        x0 = buf.getInt();
+        yTop = buf.getInt();
+        anchoCelda = buf.getInt();
+        altoCelda = buf.getInt();
+        pasoX = buf.getInt();
+        pasoY = buf.getInt();
+        vivos = buf.getInt();
+        marcarTodoSucio();
+        int n = cols * filas;
+        if (hp.length < n) {
+            hp = new byte[n];
+            flags = new byte[n];
+        }
+        buf.get(hp, 0, n).get(flags, 0, n);
+        int palabras = (n + 63) >>> 6;
+        if (ocupadas.length < palabras) ocupadas = new long[palabras];
+        for (int w = 0; w < palabras; w++) ocupadas[w] = buf.getLong();
+        Arrays.fill(ocupadas, palabras, ocupadas.length, 0L);
+        rompibles = 0;
+        for (int c = siguienteOcupada(0); c >= 0; c = siguienteOcupada(c + 1)) {
+            if (!esIrrompible(c)) rompibles++;
+        }
+    }
+
+    // ----------------- BroadPhase -----------------
+
+    /** Vacía el campo; los límites del mundo no cambian la retícula. */
+    @Override
+    public void reiniciar(float anchoMundo, float altoMundo) {
+        Arrays.fill(ocupadas, 0L);
+        vivos = 0;
+        rompibles = 0;
+        marcarTodoSucio();
+    }
+
+    /** Vuelve a marcar como ocupada la celda id; la geometría la define la retícula. */
+    @Override
+    public void insertar(int id, float x, float y, float ancho, float alto) {
+        if (estaOcupada(id)) return;
+        ocupadas[id >>> 6] |= 1L << id;
+        vivos++;
+        if (!esIrrompible(id)) rompibles++;
+        marcarSucia(id);
+    }
+
+    @Override
+    public void quitar(int id) {
+        retirar(id);
+    }
+
+    @Override
+    public int consultar(float qMinX, float qMinY, float qMaxX, float qMaxY, IntArray salida) {
+        if (cols == 0) return 0;
+        int desde = salida.size;
+        int c0 = Math.max(0, (int) Math.ceil((qMinX - x0 - anchoCelda) / pasoX));
+        int c1 = Math.min(cols - 1, (int) Math.floor((qMaxX - x0) / pasoX));
+        int f0 = Math.max(0, (int) Math.ceil((yTop - qMaxY) / pasoY));
+        int f1 = Math.min(filas - 1, (int) Math.floor((yTop + altoCelda - qMinY) / pasoY));
+        for (int f = f0; f <= f1; f++) {
+            int base = f * cols;
+            for (int c = c0; c <= c1; c++) {
+                if (estaOcupada(base + c)) salida.add(base + c);
+            }
+        }
+        return salida.size - desde;
+    }
+
+    /**
+     * Celdas ocupadas cuyo centro está a distancia &lt;= radio de (cx, cy), en orden
+     * ascendente. Recorre solo las filas y columnas del cuadrado que contiene al círculo.
+     */
+    public int consultarRadio(float cx, float cy, float radio, IntArray salida) {
+        int desde = salida.size;
+        float mx = anchoCelda / 2f, my = altoCelda / 2f;
+        // Un AABB solapa esta caja sii su centro cae en el cuadrado circunscrito al círculo
+        consultar(cx - radio + mx, cy - radio + my, cx + radio - mx, cy + radio - my, salida);
+        float r2 = radio * radio;
+        int n = desde;
+        for (int i = desde; i < salida.size; i++) {
+            int c = salida.get(i);
+            float dx = getX(c) + mx - cx, dy = getY(c) + my - cy;
+            if (dx * dx + dy * dy <= r2) salida.set(n++, c);
+        }
+        salida.size = n;
+        return n - desde;
+    }
+
+    // ----------------- dibujo -----------------
+
+    /** Recorre fila por fila en orden de memoria, sin divisiones por celda. */
+    public void dibujar(SpriteBatch batch) {
+        int c = 0;
+        for (int f = 0, y = yTop; f < filas; f++, y -= pasoY) {
+            for (int col = 0, x = x0; col < cols; col++, x += pasoX, c++) {
+                if (!estaOcupada(c)) continue;
+                TextureRegion t = texturaPara(c);
+                if (t != null) batch.draw(t, x, y, anchoCelda, altoCelda);
+            }
+        }
+    }
+
+    /** Dibuja una sola celda ocupada (las vacías no dibujan nada). */
+    public void dibujarCelda(SpriteBatch batch, int celda) {
+        if (!estaOcupada(celda)) return;
+        TextureRegion t = texturaPara(celda);
+        if (t != null) batch.draw(t, getX(celda), getY(celda), anchoCelda, altoCelda);
+    }
+
+    private TextureRegion texturaPara(int celda) {
+        if (esIrrompible(celda)) return txIrrompible;
+        int h = hp[celda];
+        if (h == 3) return txDuro3;
+        if (h == 2) return txDuro2;
+        return txNormal;
+    }
+}
@@ -0,0 +1,130 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Capa en caché del campo de bloques: los asteroides se dibujan una vez en un
+ * FrameBuffer del tamaño de la pantalla y cada frame se dibuja solo ese
+ * rectángulo, así que el costo por frame no depende de cuántos bloques haya.
+ *
+ * actualizar() redibuja únicamente las celdas que BlockField marcó como sucias
+ * (golpe, destrucción, retiro); la retícula entera solo al cargar un nivel o
+ * restaurar un snapshot. Se dibuja sin mezcla: cada celda pisa sus propios
+ * píxeles (las celdas no se solapan), y una celda retirada se pinta con un
+ * rectángulo transparente en lugar de limpiar el buffer.
+ */
+public final class BlockLayer implements Disposable {
+
+    private static final Color TRANSPARENTE = new Color(0f, 0f, 0f, 0f);
+
+    private final TextureRegion blanco;
+    private final Matrix4 proyeccionCapa = new Matrix4();
+    private final Matrix4 proyeccionPrevia = new Matrix4();
+    private final Color colorPrevio = new Color();
+    private FrameBuffer fbo;
+    private TextureRegion region;
+    private int anchoMundo;
+    private int altoMundo;
+    private int celdasRedibujadas;
+
+    /** blanco: región de un píxel blanco del atlas, con la que se borran las celdas retiradas. */
+    public BlockLayer(TextureRegion blanco) {
+        this.blanco = blanco;
+    }
+
+    /**
+     * Pone la capa al día con el campo. Va fuera de begin()/end(): usa el lote para
+     * dibujar en el FrameBuffer y le devuelve su proyección y color.
+     */
+    public void actualizar(BlockField campo, SpriteBatch batch, float ancho, float alto) {
+        boolean todo = prepararBuffer((int) ancho, (int) alto) || campo.isTodoSucio();
+        IntArray sucias = campo.getCeldasSucias();
+        celdasRedibujadas = 0;
+        if (!todo && sucias.size == 0) return;
+        // Con muchas celdas sucias sale más barato redibujar todo que pintar vacíos uno por uno
+        if (sucias.size > campo.getCapacidad() / 2) todo = true;
+
+        proyeccionPrevia.set(batch.getProjectionMatrix());
+        colorPrevio.set(batch.getColor());
+        fbo.begin();
+        if (todo) {
+            Gdx.gl.glClearColor(0f, 0f, 0f, 0f);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        }
+        batch.setProjectionMatrix(proyeccionCapa);
+        batch.disableBlending();
+        batch.begin();
+        if (todo) {
+            batch.setColor(Color.WHITE);
+            campo.dibujar(batch);
+            celdasRedibujadas = campo.getVivos();
+        } else {
+            int ancho0 = campo.getAnchoCelda(), alto0 = campo.getAltoCelda();
+            for (int i = 0; i < sucias.size; i++) {
+                int c = sucias.get(i);
+                if (campo.estaOcupada(c)) {
+                    batch.setColor(Color.WHITE);
+                    campo.dibujarCelda(batch, c);
+                } else {
+                    batch.setColor(TRANSPARENTE);
+                    batch.draw(blanco, campo.getX(c), campo.getY(c), ancho0, alto0);
+                }
+            }
+            celdasRedibujadas = sucias.size;
+        }
+        batch.end();
+        batch.enableBlending();
+        fbo.end();
+        batch.setProjectionMatrix(proyeccionPrevia);
+        batch.setColor(colorPrevio);
+        campo.limpiarSucias();
+    }
+
+    /** Anota la capa en la cola; es un solo sprite. */
+    public void dibujar(RenderQueue cola) {
+        if (region != null) cola.sprite(region, 0, 0, anchoMundo, altoMundo);
+    }
+
+    /** Celdas redibujadas en el último actualizar() (0 si la capa ya estaba al día). */
+    public int getCeldasRedibujadas() { return celdasRedibujadas; }
+
+    /**
+     * Crea el FrameBuffer la primera vez o si cambió el tamaño del mundo. Tiene la
+     * resolución del back buffer para no perder nitidez en pantallas HiDPI.
+     * Devuelve true si el buffer es nuevo (hay que dibujar todo).
+     */
+    private boolean prepararBuffer(int ancho, int alto) {
+        int w = Math.max(1, Gdx.graphics.getBackBufferWidth());
+        int h = Math.max(1, Gdx.graphics.getBackBufferHeight());
+        if (fbo != null && ancho == anchoMundo && alto == altoMundo
+                && fbo.getWidth() == w && fbo.getHeight() == h) {
+            return false;
+        }
+        if (fbo != null) fbo.dispose();
+        fbo = new FrameBuffer(Pixmap.Format.RGBA8888, w, h, false);
+        fbo.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        region = new TextureRegion(fbo.getColorBufferTexture());
+        region.flip(false, true); // el FrameBuffer queda con el eje y invertido respecto de una textura
+        anchoMundo = ancho;
+        altoMundo = alto;
+        proyeccionCapa.setToOrtho2D(0, 0, ancho, alto);
+        return true;
+    }
+
+    @Override
+    public void dispose() {
+        if (fbo != null) fbo.dispose();
+        fbo = null;
+        region = null;
+    }
+}
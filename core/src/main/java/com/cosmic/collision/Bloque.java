@@ -1,7 +1,7 @@
 package com.cosmic.collision;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 
 /**
@@ -11,18 +11,19 @@ public class Bloque extends ObjetoJuego implements Colisionable {
     private boolean destruido;
     private boolean irrompible;
     private int hp;
+    private final Rectangle rect = new Rectangle();
 
-    private Texture texturaNormal;
-    private Texture texturaResistente2;
-    private Texture texturaResistente3;
-    private Texture texturaIrrompible;
+    private TextureRegion texturaNormal;
+    private TextureRegion texturaResistente2;
+    private TextureRegion texturaResistente3;
+    private TextureRegion texturaIrrompible;
 
-    public Bloque(int x, int y, int ancho, int alto, Texture tx1, Texture tx2, Texture tx3, Texture txU) {
+    public Bloque(int x, int y, int ancho, int alto, TextureRegion tx1, TextureRegion tx2, TextureRegion tx3, TextureRegion txU) {
         this(x, y, ancho, alto, 1, false, tx1, tx2, tx3, txU);
     }
 
     public Bloque(int x, int y, int ancho, int alto, int hp, boolean irrompible,
-                  Texture tx1, Texture tx2, Texture tx3, Texture txU) {
+                  TextureRegion tx1, TextureRegion tx2, TextureRegion tx3, TextureRegion txU) {
         super(x, y, ancho, alto);
         this.irrompible = irrompible;
         this.hp = Math.max(1, hp);
@@ -40,12 +41,7 @@ public class Bloque extends ObjetoJuego implements Colisionable {
 
     @Override
     public Rectangle getRect() {
-        return new Rectangle(x, y, ancho, alto);
-    }
-
-    @Override
-    public void alChocarConBola(BolaPing bola) {
-        recibirImpacto();
+        return rect.set(x, y, ancho, alto);
     }
 
     public void recibirImpacto() {
@@ -58,6 +54,12 @@ public class Bloque extends ObjetoJuego implements Colisionable {
     public boolean esIrrompible() { return irrompible; }
     public int getHp() { return hp; }
 
+    // Texturas compartidas: BlockField las toma una vez por nivel
+    TextureRegion getTexturaNormal() { return texturaNormal; }
+    TextureRegion getTexturaResistente2() { return texturaResistente2; }
+    TextureRegion getTexturaResistente3() { return texturaResistente3; }
+    TextureRegion getTexturaIrrompible() { return texturaIrrompible; }
+
     public void destruir() {
         if (!irrompible) {
             destruido = true;
@@ -67,7 +69,7 @@ public class Bloque extends ObjetoJuego implements Colisionable {
 
     @Override
     public void dibujar(SpriteBatch batch) {
-        Texture texturaActual;
+        TextureRegion texturaActual;
         if (irrompible) {
             texturaActual = texturaIrrompible;
         } else {
@@ -0,0 +1,24 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Broadphase: índice espacial de AABBs identificados por un id entero.
+ * Permite que cada bola pruebe solo los bloques cercanos a su recorrido
+ * en lugar de recorrer la lista completa.
+ */
+public interface BroadPhase {
+
+    /** Vacía el índice y fija los límites del mundo que cubrirá. */
+    void reiniciar(float anchoMundo, float altoMundo);
+
+    void insertar(int id, float x, float y, float ancho, float alto);
+
+    void quitar(int id);
+
+    /**
+     * Agrega a {@code salida} los ids cuyo AABB toca el rectángulo dado,
+     * sin duplicados y en orden ascendente. Devuelve cuántos se agregaron.
+     */
+    int consultar(float minX, float minY, float maxX, float maxY, IntArray salida);
+}
@@ -2,7 +2,16 @@ package com.cosmic.collision;
 
 import com.badlogic.gdx.math.Rectangle;
 
+/**
+ * Objeto contra el que rebota la bola. Expone su AABB como primitivas para
+ * que las pruebas de colisión no creen objetos en cada frame.
+ */
 public interface Colisionable {
+    int getX();
+    int getY();
+    int getAncho();
+    int getAlto();
+
+    /** Rectángulo cacheado; se actualiza en el lugar, no retener entre frames. */
     Rectangle getRect();
-    void alChocarConBola(BolaPing bola);
-}
\ No newline at end of file
+}
@@ -1,6 +1,6 @@
 package com.cosmic.collision;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -8,35 +8,35 @@ import java.util.List;
 /**
  * Implementación por defecto de BlockFactory.
  * Soporta dos formas de construcción:
- *  - sin argumentos: carga Textures mediante ResourceManager
- *  - con Textures en el constructor: reutiliza Textures ya cargadas (útil si Main/otro cargó los assets)
+ *  - sin argumentos: toma las regiones del atlas de ResourceManager
+ *  - con regiones en el constructor: reutiliza las ya cargadas (útil si Main/otro cargó los assets)
  *
- * Replica la lógica original de generación de bloques para asegurar que la jugabilidad no cambie.
+ * Genera con la lógica original (mismas filas, tipos y proporciones de bloques), pero
+ * sortea con el flujo azar que recibe: la misma semilla arma el mismo campo.
  */
 public class DefaultBlockFactory implements BlockFactory {
 
-    private final Texture txNormal;
-    private final Texture txDuro2;
-    private final Texture txDuro3;
-    private final Texture txIrrompible;
+    private final TextureRegion txNormal;
+    private final TextureRegion txDuro2;
+    private final TextureRegion txDuro3;
+    private final TextureRegion txIrrompible;
 
     /**
-     * Constructor por defecto: obtiene las texturas desde ResourceManager.
+     * Constructor por defecto: obtiene las regiones del atlas de ResourceManager.
      */
     public DefaultBlockFactory() {
-        ResourceManager rm = ResourceManager.getInstance();
-        // Ajusta rutas si tus assets tienen otra ubicación
-        txNormal = rm.getTexture("ast_normal", "AsteroideE.png");
-        txDuro2 = rm.getTexture("ast_duro2", "AsteroideM.png");
-        txDuro3 = rm.getTexture("ast_duro3", "AsteroideH.png");
-        txIrrompible = rm.getTexture("ast_unb", "AsteroideI.png");
+        GameAtlas atlas = ResourceManager.getInstance().getAtlas();
+        txNormal = atlas.region(GameAtlas.ASTEROIDE_NORMAL);
+        txDuro2 = atlas.region(GameAtlas.ASTEROIDE_DURO2);
+        txDuro3 = atlas.region(GameAtlas.ASTEROIDE_DURO3);
+        txIrrompible = atlas.region(GameAtlas.ASTEROIDE_IRROMPIBLE);
     }
 
     /**
-     * Constructor alternativo: utiliza las Textures ya cargadas por el llamador (Main).
+     * Constructor alternativo: utiliza las regiones ya cargadas por el llamador (Main).
      * Útil para evitar recargar/duplicar assets.
      */
-    public DefaultBlockFactory(Texture txNormal, Texture txDuro2, Texture txDuro3, Texture txIrrompible) {
+    public DefaultBlockFactory(TextureRegion txNormal, TextureRegion txDuro2, TextureRegion txDuro3, TextureRegion txIrrompible) {
         this.txNormal = txNormal;
         this.txDuro2 = txDuro2;
         this.txDuro3 = txDuro3;
@@ -44,7 +44,7 @@ public class DefaultBlockFactory implements BlockFactory {
     }
 
     @Override
-    public List<Bloque> crearBloques(int filas, DifficultySettings settings, float anchoMundo, float altoMundo) {
+    public List<Bloque> crearBloques(int filas, DifficultySettings settings, float anchoMundo, float altoMundo, RandomStream azar) {
         List<Bloque> lista = new ArrayList<>();
         int y = (int)altoMundo - settings.margenSuperior;
 
@@ -77,13 +77,13 @@ public class DefaultBlockFactory implements BlockFactory {
                 if (y < 0) break;
                 for (int c = 0; c < cols; c++) {
                     int x = inicioX + c * (anchoB + settings.espaciadoHBloque);
-                    boolean irrompible = settings.permitirIrrompibles && Math.random() < settings.tasaIrrompibles;
-                    boolean duro = !irrompible && Math.random() < settings.tasaBloquesDuros;
+                    boolean irrompible = settings.permitirIrrompibles && azar.nextDouble() < settings.tasaIrrompibles;
+                    boolean duro = !irrompible && azar.nextDouble() < settings.tasaBloquesDuros;
                     if (irrompible) {
                         lista.add(new Bloque(x, y, anchoB, altoB, 1, true, txNormal, txDuro2, txDuro3, txIrrompible));
                     } else if (duro) {
                         int hp = (settings.dificultad == Dificultad.DIFICIL)
-                                ? (Math.random() < 0.5 ? 3 : 2) : 2;
+                                ? (azar.nextDouble() < 0.5 ? 3 : 2) : 2;
                         lista.add(new Bloque(x, y, anchoB, altoB, hp, false, txNormal, txDuro2, txDuro3, txIrrompible));
                     } else {
                         lista.add(new Bloque(x, y, anchoB, altoB, txNormal, txDuro2, txDuro3, txIrrompible));
@@ -0,0 +1,131 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Atlas de juego armado al cargar: los cuatro asteroides, la nave, el fondo, la
+ * página de la fuente por defecto y dos regiones generadas (un píxel blanco para
+ * rectángulos y un círculo con borde suavizado para las bolas) en una sola
+ * textura. Con todo en la misma textura, SpriteBatch no tiene que vaciarse al
+ * pasar de un asteroide a otro ni de los bloques al texto: el campo de juego
+ * completo sale en una llamada de dibujo.
+ *
+ * Los asteroides (1024x1024) y la nave (740x740) se reducen al cargar al tamaño
+ * al que se dibujan, reduciendo a la mitad por pasos para que no se vean granulados.
+ */
+public final class GameAtlas implements Disposable {
+
+    public static final String ASTEROIDE_NORMAL = "ast_normal";
+    public static final String ASTEROIDE_DURO2 = "ast_duro2";
+    public static final String ASTEROIDE_DURO3 = "ast_duro3";
+    public static final String ASTEROIDE_IRROMPIBLE = "ast_unb";
+    public static final String PALETA = "paleta";
+    public static final String FONDO = "fondo";
+    public static final String BLANCO = "blanco";
+    public static final String CIRCULO = "circulo";
+    public static final String FUENTE = "fuente";
+
+    private static final int LADO_PAGINA = 2048;
+    private static final int LADO_ASTEROIDE = 128;
+    private static final int LADO_NAVE = 256;
+    private static final int LADO_CIRCULO = 64;
+    private static final String FUENTE_FNT = "com/badlogic/gdx/utils/lsans-15.fnt";
+    private static final String FUENTE_PNG = "com/badlogic/gdx/utils/lsans-15.png";
+
+    private final PixmapPacker packer;
+    private final TextureAtlas atlas;
+
+    private GameAtlas(PixmapPacker packer) {
+        this.packer = packer;
+        this.atlas = packer.generateTextureAtlas(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear, false);
+    }
+
+    /** Carga los assets del juego y los empaqueta (necesita contexto GL). */
+    public static GameAtlas cargar() {
+        PixmapPacker packer = new PixmapPacker(LADO_PAGINA, LADO_PAGINA, Pixmap.Format.RGBA8888, 2, true);
+        empaquetar(packer, ASTEROIDE_NORMAL, reducida(Gdx.files.internal("AsteroideE.png"), LADO_ASTEROIDE));
+        empaquetar(packer, ASTEROIDE_DURO2, reducida(Gdx.files.internal("AsteroideM.png"), LADO_ASTEROIDE));
+        empaquetar(packer, ASTEROIDE_DURO3, reducida(Gdx.files.internal("AsteroideH.png"), LADO_ASTEROIDE));
+        empaquetar(packer, ASTEROIDE_IRROMPIBLE, reducida(Gdx.files.internal("AsteroideI.png"), LADO_ASTEROIDE));
+        empaquetar(packer, PALETA, reducida(Gdx.files.internal("nave.png"), LADO_NAVE));
+        empaquetar(packer, FONDO, new Pixmap(Gdx.files.internal("espacio.jpg")));
+        empaquetar(packer, FUENTE, new Pixmap(Gdx.files.classpath(FUENTE_PNG)));
+        empaquetar(packer, BLANCO, blanco());
+        empaquetar(packer, CIRCULO, circulo(LADO_CIRCULO));
+        if (packer.getPages().size > 1) {
+            Gdx.app.error("GameAtlas", "el atlas ocupa " + packer.getPages().size + " páginas; agrandar LADO_PAGINA");
+        }
+        return new GameAtlas(packer);
+    }
+
+    private static void empaquetar(PixmapPacker packer, String nombre, Pixmap p) {
+        packer.pack(nombre, p);
+        p.dispose();
+    }
+
+    public TextureRegion region(String nombre) {
+        TextureRegion r = atlas.findRegion(nombre);
+        if (r == null) throw new IllegalArgumentException("región desconocida: " + nombre);
+        return r;
+    }
+
+    /** Fuente por defecto de libGDX dibujada desde el atlas; la textura sigue siendo del atlas. */
+    public BitmapFont nuevaFuente() {
+        return new BitmapFont(Gdx.files.classpath(FUENTE_FNT), region(FUENTE), false);
+    }
+
+    @Override
+    public void dispose() {
+        atlas.dispose();
+        packer.dispose();
+    }
+
+    // ----------------- imágenes generadas -----------------
+
+    /** Reduce una imagen cuadrada a lado px dividiendo a la mitad en cada paso (filtro bilineal). */
+    private static Pixmap reducida(FileHandle archivo, int lado) {
+        Pixmap actual = new Pixmap(archivo);
+        while (actual.getWidth() > lado || actual.getHeight() > lado) {
+            int w = Math.max(lado, actual.getWidth() / 2);
+            int h = Math.max(lado, actual.getHeight() / 2);
+            Pixmap siguiente = new Pixmap(w, h, Pixmap.Format.RGBA8888);
+            siguiente.setBlending(Pixmap.Blending.None);
+            siguiente.setFilter(Pixmap.Filter.BiLinear);
+            siguiente.drawPixmap(actual, 0, 0, actual.getWidth(), actual.getHeight(), 0, 0, w, h);
+            actual.dispose();
+            actual = siguiente;
+        }
+        return actual;
+    }
+
+    private static Pixmap blanco() {
+        Pixmap p = new Pixmap(4, 4, Pixmap.Format.RGBA8888);
+        p.setColor(1f, 1f, 1f, 1f);
+        p.fill();
+        return p;
+    }
+
+    /** Círculo blanco relleno; el alfa del borde es la fracción del píxel que cae dentro. */
+    private static Pixmap circulo(int lado) {
+        Pixmap p = new Pixmap(lado, lado, Pixmap.Format.RGBA8888);
+        p.setBlending(Pixmap.Blending.None);
+        float centro = lado / 2f;
+        float radio = centro - 0.5f;
+        for (int y = 0; y < lado; y++) {
+            for (int x = 0; x < lado; x++) {
+                float dx = x + 0.5f - centro, dy = y + 0.5f - centro;
+                float cobertura = Math.max(0f, Math.min(1f, radio + 0.5f - (float) Math.sqrt(dx * dx + dy * dy)));
+                p.drawPixel(x, y, 0xFFFFFF00 | (int) (cobertura * 255f));
+            }
+        }
+        return p;
+    }
+}
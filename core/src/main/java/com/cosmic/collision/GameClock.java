@@ -0,0 +1,105 @@
+package com.cosmic.collision;
+
+/**
+ * Reloj de juego de un mundo, medido en ticks de simulación. Los efectos con
+ * duración (bola explosiva, velocidad, tamaño de paleta, retardo de recogida,
+ * cartel de vida extra) vencen en un tick, no en una hora del sistema: no corren
+ * durante la pausa y duran lo mismo aunque la simulación vaya 1000 veces más
+ * rápida. Leer la hora es leer un campo; nunca consulta el reloj del sistema.
+ *
+ * Con ventana, además, convierte el delta real de cada frame en ticks a paso fijo
+ * (avanzar), aplicando la pausa y la escala de tiempo (cámara lenta o adelantar)
+ * y dejando el resto como factor de interpolación para el dibujo. Sin ventana no
+ * hace falta: cada GameWorld.actualizar() es un tick.
+ */
+public final class GameClock {
+
+    /** Tope de ticks de recuperación por frame a escala 1 (una pausa larga no dispara una espiral). */
+    public static final int MAX_TICKS_POR_FRAME = 8;
+    public static final float ESCALA_MINIMA = 0.05f;
+    public static final float ESCALA_MAXIMA = 1000f;
+
+    private float pasoSegundos;
+    private long tick;
+    private boolean pausado;
+    private float escala = 1f;
+    private float acumulador;
+
+    public GameClock(float frecuenciaHz) {
+        setFrecuencia(frecuenciaHz);
+    }
+
+    public void setFrecuencia(float frecuenciaHz) {
+        if (frecuenciaHz <= 0f) throw new IllegalArgumentException("frecuenciaHz debe ser > 0");
+        this.pasoSegundos = 1f / frecuenciaHz;
+    }
+
+    /** Duración de un tick en segundos de juego. */
+    public float getPasoSegundos() { return pasoSegundos; }
+
+    /** Ticks simulados desde el inicio de la partida. */
+    public long getTick() { return tick; }
+
+    /** Cantidad de ticks equivalente a una duración en milisegundos de juego (al menos 1). */
+    public long ticksPara(long ms) {
+        return Math.max(1L, Math.round(ms / (1000.0 * pasoSegundos)));
+    }
+
+    // ----------------- usados por el mundo -----------------
+
+    /** Marca el comienzo de un tick de simulación; devuelve su número. */
+    long avanzarTick() {
+        return ++tick;
+    }
+
+    /** Vuelve al tick 0 (nueva partida) sin tocar pausa ni escala. */
+    void reiniciar() {
+        tick = 0;
+        acumulador = 0f;
+    }
+
+    void restaurar(long tick, float pasoSegundos) {
+        this.tick = tick;
+        this.pasoSegundos = pasoSegundos;
+    }
+
+    // ----------------- paso fijo con tiempo real -----------------
+
+    /**
+     * Suma el delta real del frame (escalado) y devuelve cuántos ticks hay que
+     * simular ahora; en pausa, ninguno. Si se alcanza el tope, el atraso se descarta.
+     */
+    public int avanzar(float deltaSegundos) {
+        if (pausado) return 0;
+        acumulador += Math.max(0f, deltaSegundos) * escala;
+        int pasos = (int) (acumulador / pasoSegundos);
+        int tope = MAX_TICKS_POR_FRAME * (int) Math.ceil(escala);
+        if (pasos > tope) {
+            pasos = tope;
+            acumulador = 0f;
+        } else {
+            acumulador -= pasos * pasoSegundos;
+        }
+        return pasos;
+    }
+
+    /** Fracción [0, 1) del siguiente tick ya transcurrida; se usa para interpolar el dibujo. */
+    public float alfa() {
+        return Math.min(1f, acumulador / pasoSegundos);
+    }
+
+    /** Olvida el tiempo real acumulado (al volver de un menú, tras una carga...). */
+    public void descartarAtraso() {
+        acumulador = 0f;
+    }
+
+    public void setPausado(boolean pausado) { this.pausado = pausado; }
+    public boolean isPausado() { return pausado; }
+
+    /** 1 = tiempo real, 0.25 = cámara lenta, 10 = adelantar. */
+    public void setEscala(float escala) {
+        this.escala = Math.max(ESCALA_MINIMA, Math.min(ESCALA_MAXIMA, escala));
+    }
+
+    public float getEscala() { return escala; }
+}
@@ -4,5 +4,5 @@ package com.cosmic.collision;
  * Estados globales del juego.
  */
 public enum GameState {
-    MENU, JUGANDO, PAUSADO, TUTORIAL, FIN_DE_JUEGO, CREDITOS
+    MENU, JUGANDO, PAUSADO, TUTORIAL, FIN_DE_JUEGO, CREDITOS, REPETICION
 }
\ No newline at end of file
@@ -1,15 +1,13 @@
 package com.cosmic.collision;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Bits;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Pool;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
 
 /**
  * GameWorld con Strategy completo:
@@ -18,9 +16,50 @@ import java.util.List;
  */
 public class GameWorld {
 
+    /** Eventos de partida para estadísticas y simulaciones; se invocan en el hilo del tick. */
+    public interface Listener {
+        void alSoltarPowerUp(PowerUpType tipo, int nivel);
+        void alRecogerPowerUp(PowerUpType tipo, int nivel);
+        /** nivel es el nivel recién completado; vidaExtra indica si salió el sorteo de vida. */
+        void alCompletarNivel(int nivel, boolean vidaExtra);
+        void alPerderVida(int vidasRestantes);
+    }
+
     private Plataforma paleta;
-    private final List<BolaPing> pelotas = new ArrayList<>();
-    private final List<Bloque> bloques = new ArrayList<>();
+    /** Tope blando de bolas en juego normal (cada SPLIT_BALL multiplica por 4). */
+    public static final int MAX_BOLAS = 1024;
+    /** Modo multibola de estrés: bolas por ráfaga y tope. */
+    public static final int BOLAS_MODO_ESTRES = 10000;
+    public static final int MAX_BOLAS_MODO_ESTRES = 20000;
+    private static final int RADIO_BOLA = 10;
+
+    private final BallSystem bolas = new BallSystem(MAX_BOLAS);
+    private boolean modoEstres = false;
+    // Bloques del nivel en una grilla compacta; por defecto también es la broadphase
+    private final BlockField campo = new BlockField();
+    private BroadPhase broadPhase = campo;
+    private final BallStepper stepper = new BallStepper();
+    /** Bolas a partir de las cuales conviene repartir la fase de bolas entre hilos. */
+    public static final int UMBRAL_FASE_PARALELA = 2048;
+    private final ParallelBallStepper pasoParalelo = new ParallelBallStepper();
+    private boolean faseParalela = false;
+    // Impactos bola-bloque del tick en orden; la fase de bolas no modifica el campo
+    private final HitBuffer impactos = new HitBuffer();
+    // Celdas destruidas en este tick: siguen siendo sólidas hasta el barrido de fin de tick
+    private final IntArray celdasDestruidas = new IntArray();
+    // Reloj de juego propio: los plazos de los efectos son números de tick
+    private final GameClock reloj = new GameClock(120f);
+    private final BallStepper.Listener alImpactar = new BallStepper.Listener() {
+        @Override
+        public void alImpactarBloque(int bola, int celda) {
+            impactos.registrar(bola, celda, (int) reloj.getTick());
+        }
+
+        @Override
+        public void alImpactarPaleta(int bola) {
+            bolas.alChocarConPaleta(bola, paleta);
+        }
+    };
     private final BlockFactory blockFactory;
     private DifficultySettings settings;
     private final HUD hud;
@@ -32,37 +71,98 @@ public class GameWorld {
     private int velPelotaX;
     private int velPelotaY;
 
-    private long mostrarBonificacionVidaHastaMs;
+    private long mostrarBonificacionVidaHastaTick;
     private final long duracionBonificacionVida;
 
-    private final com.badlogic.gdx.graphics.Texture texturaPaleta;
-
-    private final List<PowerUp> powerUps = new ArrayList<>();
+    private final TextureRegion texturaPaleta;
+    // Bloques en un FrameBuffer que solo se retoca donde cambió el campo (se crea al dibujar)
+    private BlockLayer capaBloques;
+    // Escombros y explosiones; solo visuales. null = sin partículas (headless, benchmarks)
+    private ParticleSystem particulas;
+
+    // Power-ups en caída: instancias recicladas desde el pool, sin basura por ítem soltado o recogido
+    private static final int TAMANO_POWERUP = 22;
+    private final Array<PowerUp> powerUps = new Array<>(true, 16, PowerUp.class);
+    // Los primeros se crean con el mundo y no en el primer drop que los necesita
+    private static final int POWERUPS_PREASIGNADOS = 16;
+    // Lugar en la lista de libres: devolver más de los preasignados no la hace crecer
+    private static final int CAPACIDAD_POOL_POWERUPS = 64;
+    private final Pool<PowerUp> poolPowerUps = new Pool<PowerUp>(CAPACIDAD_POOL_POWERUPS) {
+        @Override
+        protected PowerUp newObject() {
+            return new PowerUp();
+        }
+    };
     private float probDropPowerUp = 0.25f;
+    // Distribución normalizada del nivel actual; se recalcula solo al cambiar nivel o estrategia
+    private PowerUpDistribution distribucionNivel;
+    private DifficultyStrategy estrategiaDistribucion;
+    private int nivelDistribucion = -1;
 
     private boolean bolaExplosivaActiva = false;
-    private long bolaExplosivaHastaMs = 0;
+    private long bolaExplosivaHastaTick = 0;
     private final float radioExplosionPx = 90f;
+    private static final long DURACION_BOLA_EXPLOSIVA_MS = 8000L;
+    // Reacción en cadena: cada bloque destruido por una explosión también detona.
+    // La cola se procesa como BFS con un tope por tick; lo que sobra sigue en el próximo.
+    private boolean reaccionEnCadena = false;
+    private int maxDetonacionesPorTick = 64;
+    private final IntArray detonaciones = new IntArray();
+    // Celdas con una detonación pendiente: una celda no se encola dos veces (la segunda no
+    // destruiría nada) y la cola queda acotada por el tamaño del campo aunque miles de bolas
+    // explosivas golpeen irrompibles en cada tick
+    private final Bits enCola = new Bits();
+    private final IntArray enRadio = new IntArray();
+
+    private float bolaSpeedMultiplicador = 0f; // 0 = sin efecto de velocidad
+    private long bolaSpeedExpiraTick = 0L;
+
+    private int paletaAnchoOriginal = -1;      // -1 = paleta sin efecto de tamaño
+    private long paletaTamanoExpiraTick = 0L;
 
-    private Float bolaSpeedMultiplicador = null;
-    private long bolaSpeedExpiraMs = 0L;
+    private DifficultyStrategy difficultyStrategy;
+    private final WorldContext contexto;
+    private Listener listener;
 
-    private Integer paletaAnchoOriginal = null;
-    private long paletaTamanoExpiraMs = 0L;
+    // Azar propio del mundo: cada partida parte de una semilla y se divide en flujos
+    // independientes (niveles, drops, bonificaciones). Nada se comparte entre mundos.
+    private final SplittableRandom generadorSemillas = new SplittableRandom();
+    private long semilla;
+    private RandomStream azarNiveles;
+    private RandomStream azarDrops;
+    private RandomStream azarBonos;
 
-    private DifficultyStrategy difficultyStrategy;
+    // Entrada leída una vez al inicio de cada tick; es lo que guarda una grabación
+    private int entradaTick;
+    private ReplayRecorder grabacion;
 
+    /** Las velocidades de bola están expresadas en px por frame a esta frecuencia. */
+    public static final float FRECUENCIA_REFERENCIA_HZ = 60f;
+
+    public GameWorld(BlockFactory factory,
+                     HUD hud,
+                     DifficultySettings initialSettings,
+                     long duracionBonificacionVida,
+                     TextureRegion texturaPaleta) {
+        this(factory, hud, initialSettings, duracionBonificacionVida, texturaPaleta, WorldContext.desdeGdx());
+    }
+
+    /** Mundo con tamaño y controles inyectados; no necesita ventana ni contexto GL. */
     public GameWorld(BlockFactory factory,
                      HUD hud,
                      DifficultySettings initialSettings,
                      long duracionBonificacionVida,
-                     com.badlogic.gdx.graphics.Texture texturaPaleta) {
+                     TextureRegion texturaPaleta,
+                     WorldContext contexto) {
+        this.contexto = contexto;
         this.blockFactory = factory;
         this.hud = hud;
         this.settings = initialSettings;
         this.duracionBonificacionVida = duracionBonificacionVida;
         this.texturaPaleta = texturaPaleta;
         this.difficultyStrategy = strategyFor(initialSettings.dificultad);
+        poolPowerUps.fill(POWERUPS_PREASIGNADOS);
+        reservarImpactos();
         iniciarJuego();
     }
 
@@ -80,23 +180,49 @@ public class GameWorld {
         this.difficultyStrategy = strategyFor(nueva.dificultad);
     }
 
+    /** Nueva partida con una semilla al azar (consultable con getSemilla()). */
     public void iniciarJuego() {
+        iniciarJuego(generadorSemillas.nextLong());
+    }
+
+    /**
+     * Vuelve a sembrar los sorteos (niveles, drops y vida extra) sin tocar el resto
+     * del estado ni asignar memoria. Un gemelo restaurado de un snapshot lo usa para
+     * no jugar con los sorteos que el mundo original todavía no sacó.
+     */
+    public void rebarajarAzar(long semilla) {
+        azarNiveles.resembrar(semilla);
+        azarDrops.resembrar(semilla + 1);
+        azarBonos.resembrar(semilla + 2);
+    }
+
+    /** Nueva partida reproducible: la misma semilla y la misma entrada dan la misma partida. */
+    public void iniciarJuego(long semilla) {
+        this.semilla = semilla;
+        reloj.reiniciar();
+        RandomStream raiz = new RandomStream(semilla);
+        azarNiveles = raiz.split();
+        azarDrops = raiz.split();
+        azarBonos = raiz.split();
+
         puntaje = 0;
         vidas = 3;
         nivel = 1;
-        powerUps.clear();
+        liberarPowerUps();
         bolaExplosivaActiva = false;
-        bolaExplosivaHastaMs = 0;
-        bolaSpeedMultiplicador = null;
-        bolaSpeedExpiraMs = 0L;
-        paletaAnchoOriginal = null;
-        paletaTamanoExpiraMs = 0L;
+        bolaExplosivaHastaTick = 0;
+        bolaSpeedMultiplicador = 0f;
+        bolaSpeedExpiraTick = 0L;
+        paletaAnchoOriginal = -1;
+        paletaTamanoExpiraTick = 0L;
+        mostrarBonificacionVidaHastaTick = 0L;
+        if (particulas != null) particulas.limpiar();
 
         velPelotaX = settings.velPelotaX;
         velPelotaY = settings.velPelotaY;
 
         paleta = new Plataforma(
-                (int)(Gdx.graphics.getWidth()/2f - settings.anchoBasePaleta/2f),
+                (int)(contexto.getAncho()/2f - settings.anchoBasePaleta/2f),
                 40,
                 settings.anchoBasePaleta,
                 40,
@@ -104,16 +230,17 @@ public class GameWorld {
         );
         paleta.setVelPxPorSeg(settings.velocidadPaleta);
 
-        pelotas.clear();
-        pelotas.add(new BolaPing(
-                (int)(Gdx.graphics.getWidth()/2f - 10),
+        bolas.limpiar();
+        bolas.agregar(
+                (int)(contexto.getAncho()/2f - 10),
                 paleta.getY() + paleta.getAlto() + 11,
-                10,
+                RADIO_BOLA,
                 velPelotaX,
                 velPelotaY,
                 true
-        ));
+        );
         crearBloques(filasParaNivel(nivel));
+        if (modoEstres) lanzarRafagaEstres();
     }
 
     private int filasParaNivel(int nivelActual) {
@@ -121,147 +248,280 @@ public class GameWorld {
     }
 
     public void crearBloques(int filas) {
-        bloques.clear();
-        powerUps.clear();
-        bloques.addAll(blockFactory.crearBloques(
-                filas, settings, Gdx.graphics.getWidth(), Gdx.graphics.getHeight()
+        liberarPowerUps();
+        impactos.limpiar();
+        celdasDestruidas.clear();
+        detonaciones.clear();
+        enCola.clear();
+        campo.cargar(blockFactory.crearBloques(
+                filas, settings, contexto.getAncho(), contexto.getAlto(), azarNiveles
         ));
+        reconstruirBroadPhase();
+        // Se arma al cargar el nivel y no en su primer drop
+        distribucionDelNivel();
+        reservarDetonaciones();
+    }
+
+    /**
+     * La cola de detonaciones, sus marcas y las listas de celdas destruidas y en radio
+     * quedan con lugar para todas las celdas del nivel: un campo con más filas no las
+     * hace crecer en el tick que detona.
+     */
+    private void reservarDetonaciones() {
+        int celdas = campo.getCapacidad();
+        if (celdas == 0) return;
+        detonaciones.ensureCapacity(celdas);
+        celdasDestruidas.ensureCapacity(celdas);
+        enRadio.ensureCapacity(celdas);
+        // Bits solo crece al marcar: se marca y se borra la última celda
+        enCola.set(celdas - 1);
+        enCola.clear(celdas - 1);
+    }
+
+    /**
+     * Permite cambiar la estructura espacial (grilla uniforme, quadtree...).
+     * Con null o el propio campo se vuelve a la consulta directa por fila/columna.
+     */
+    public void setBroadPhase(BroadPhase nueva) {
+        this.broadPhase = nueva != null ? nueva : campo;
+        reconstruirBroadPhase();
+    }
+
+    /** Una broadphase externa indexa las celdas ocupadas del campo por su número de celda. */
+    private void reconstruirBroadPhase() {
+        if (broadPhase == campo) return;
+        broadPhase.reiniciar(contexto.getAncho(), contexto.getAlto());
+        for (int c = campo.siguienteOcupada(0); c >= 0; c = campo.siguienteOcupada(c + 1)) {
+            broadPhase.insertar(c, campo.getX(c), campo.getY(c), campo.getAnchoCelda(), campo.getAltoCelda());
+        }
+    }
+
+    /** Fija la frecuencia del tick de simulación (p. ej. 120 Hz); cada actualizar() avanza 1/hz s. */
+    public void setFrecuenciaTick(float hz) {
+        reloj.setFrecuencia(hz);
     }
 
+    public float getPasoSegundos() { return reloj.getPasoSegundos(); }
+
+    /** Reloj de juego del mundo (pausa, escala de tiempo, paso fijo para el dibujo). */
+    public GameClock getReloj() { return reloj; }
+
+    /**
+     * Simula hasta maxTicks ticks seguidos sin dibujar, lo más rápido posible, y
+     * se detiene al perder la última vida. Devuelve los ticks simulados.
+     */
+    public long adelantar(long maxTicks) {
+        long t = 0;
+        while (t < maxTicks && vidas > 0) {
+            actualizar();
+            t++;
+        }
+        return t;
+    }
+
+    /** Avanza exactamente un tick fijo de simulación. */
     public void actualizar() {
-        long ahora = TimeUtils.millis();
+        // Entre ticks: un piloto que mira el mundo para decidir lo ve como quedó el tick anterior
+        entradaTick = InputSource.muestrear(contexto.getEntrada());
+        long ahora = reloj.avanzarTick();
+        float pasoSegundos = reloj.getPasoSegundos();
+
+        // Estado previo para que el dibujo interpole entre este tick y el siguiente
+        paleta.guardarEstadoPrevio();
+        bolas.guardarEstadoPrevio();
 
-        if (bolaExplosivaActiva && ahora >= bolaExplosivaHastaMs) {
+        if (bolaExplosivaActiva && ahora >= bolaExplosivaHastaTick) {
             bolaExplosivaActiva = false;
         }
-        if (bolaSpeedMultiplicador != null && ahora >= bolaSpeedExpiraMs) {
-            for (BolaPing b : pelotas) b.restaurarVelBase();
-            bolaSpeedMultiplicador = null;
-            bolaSpeedExpiraMs = 0L;
+        if (bolaSpeedMultiplicador != 0f && ahora >= bolaSpeedExpiraTick) {
+            for (int i = 0; i < bolas.size(); i++) bolas.restaurarVelBase(i);
+            bolaSpeedMultiplicador = 0f;
+            bolaSpeedExpiraTick = 0L;
         }
-        if (paletaAnchoOriginal != null && ahora >= paletaTamanoExpiraMs) {
+        if (paletaAnchoOriginal >= 0 && ahora >= paletaTamanoExpiraTick) {
             restaurarTamanoPaletaOriginal();
         }
 
-        paleta.actualizar();
-
-        // Actualizar pelotas
-        Iterator<BolaPing> it = pelotas.iterator();
-        while (it.hasNext()) {
-            BolaPing bp = it.next();
-            if (bp.estaQuieta()) {
-                bp.setXY(paleta.getX() + paleta.getAncho()/2 - 5, paleta.getY() + paleta.getAlto() + 11);
-                if (Gdx.input.isKeyPressed(Input.Keys.SPACE)) bp.setEstaQuieta(false);
-            } else {
-                bp.actualizar();
+        paleta.actualizar(pasoSegundos, (entradaTick & InputSource.BIT_IZQUIERDA) != 0,
+                (entradaTick & InputSource.BIT_DERECHA) != 0, contexto.getAncho());
+
+        // Actualizar pelotas: avance barrido con sus impactos en orden (paredes, bloques, paleta)
+        impactos.limpiar();
+        float anchoMundo = contexto.getAncho();
+        float altoMundo = contexto.getAlto();
+        float escala = pasoSegundos * FRECUENCIA_REFERENCIA_HZ;
+        boolean hayQuietas = false;
+        for (int i = 0; i < bolas.size(); i++) {
+            if (bolas.estaQuieta(i)) {
+                bolas.moverA(i, paleta.getX() + paleta.getAncho()/2 - 5, paleta.getY() + paleta.getAlto() + 11);
+                hayQuietas = true;
             }
         }
-
-        // Si todas cayeron
-        boolean algunaEnPantalla = pelotas.stream().anyMatch(b -> b.getY() + b.getRadio() >= 0);
-        if (!algunaEnPantalla) {
-            vidas--;
-            pelotas.clear();
-            pelotas.add(new BolaPing(
-                    paleta.getX() + paleta.getAncho()/2 - 5,
-                    paleta.getY() + paleta.getAlto() + 11,
-                    10, velPelotaX, velPelotaY, true
-            ));
+        // La fase paralela requiere una consulta sin estado compartido (la del propio campo)
+        if (faseParalela && broadPhase == campo && bolas.size() >= UMBRAL_FASE_PARALELA) {
+            pasoParalelo.avanzar(bolas, escala, broadPhase, campo, paleta, anchoMundo, altoMundo, (int) ahora, impactos);
+        } else {
+            for (int i = 0; i < bolas.size(); i++) {
+                if (bolas.estaQuieta(i)) continue;
+                stepper.avanzar(bolas, i, escala, broadPhase, campo, paleta, anchoMundo, altoMundo, alImpactar);
+            }
         }
-
-        Bloque bloqueImpactado = detectarImpactoConAlgúnBloque();
-        if (bolaExplosivaActiva && bloqueImpactado != null) {
-            aplicarExplosionAlrededorDe(bloqueImpactado);
+        // Una bola lanzada en este tick empieza a moverse en el siguiente
+        if (hayQuietas && (entradaTick & InputSource.BIT_LANZAR) != 0) {
+            for (int i = 0; i < bolas.size(); i++) bolas.setEstaQuieta(i, false);
         }
 
-        // Colisiones
-        for (BolaPing bp : pelotas) {
-            for (Bloque b : bloques) {
-                bp.comprobarColision(b);
-            }
-            bp.comprobarColision(paleta);
+        // Las bolas que salieron por abajo no vuelven: se reciclan. Si no queda ninguna, se pierde una vida
+        for (int i = bolas.size() - 1; i >= 0; i--) {
+            if (bolas.getY(i) + bolas.getRadio(i) < 0) bolas.quitar(i);
         }
-
-        // Bloques destruidos
-        for (int i = 0; i < bloques.size(); i++) {
-            Bloque b = bloques.get(i);
-            if (b.estaDestruido()) {
-                puntaje++;
-                intentarSoltarPowerUp(b);
-                bloques.remove(i);
-                i--;
-            }
+        if (bolas.size() == 0) {
+            vidas--;
+            if (listener != null) listener.alPerderVida(vidas);
+            reponerPelotaEnPaleta();
         }
 
+        resolverImpactos();
+
         actualizarYAplicarPowerUps();
+        if (particulas != null) particulas.actualizar();
 
-        // Avance de nivel
-        if (bloques.isEmpty()) {
+        // Avance de nivel: los irrompibles no cuentan (en DIFÍCIL el nivel nunca terminaba)
+        if (campo.getRompiblesVivos() == 0) {
             nivel++;
 
             double probVidaExtra = difficultyStrategy.getExtraLifeProbability(nivel);
-            if (Math.random() < probVidaExtra) {
+            boolean vidaExtra = azarBonos.nextDouble() < probVidaExtra;
+            if (vidaExtra) {
                 vidas++;
-                mostrarBonificacionVidaHastaMs = TimeUtils.millis() + duracionBonificacionVida;
+                mostrarBonificacionVidaHastaTick = ahora + reloj.ticksPara(duracionBonificacionVida);
             }
+            if (listener != null) listener.alCompletarNivel(nivel - 1, vidaExtra);
 
-            // Progresión vía strategy
-            LevelProgressionResult prog = difficultyStrategy.applyLevelProgression(velPelotaX, velPelotaY, paleta.getAncho());
-
-            if (prog.resetEffects) {
-                // Limpieza total en FÁCIL para asegurar que no arrastre efectos temporales.
-                bolaSpeedMultiplicador = null;
-                bolaSpeedExpiraMs = 0L;
-                if (paletaAnchoOriginal != null) {
-                    restaurarTamanoPaletaOriginal();
-                }
-                // Restablecer velocidades base estrictas de la dificultad
-                velPelotaX = settings.velPelotaX;
-                velPelotaY = settings.velPelotaY;
-            } else {
-                velPelotaX = prog.newVelX;
-                velPelotaY = prog.newVelY;
-                if (prog.newPaddleWidth != paleta.getAncho()) {
-                    paleta = new Plataforma(paleta.getX(), paleta.getY(), prog.newPaddleWidth, paleta.getAlto(), texturaPaleta);
-                    paleta.setVelPxPorSeg(settings.velocidadPaleta);
-                }
+            aplicarProgresionDeNivel();
+            crearBloques(filasParaNivel(nivel));
+            reponerPelotaEnPaleta();
+        }
+
+        if (grabacion != null) grabacion.alTerminarTick(entradaTick, this);
+    }
+
+    /** Progresión vía strategy al pasar de nivel: velocidad de la bola y ancho de la paleta. */
+    private void aplicarProgresionDeNivel() {
+        LevelProgressionResult prog = difficultyStrategy.applyLevelProgression(velPelotaX, velPelotaY, paleta.getAncho());
+
+        if (prog.resetEffects) {
+            // Limpieza total en FÁCIL para asegurar que no arrastre efectos temporales.
+            bolaSpeedMultiplicador = 0f;
+            bolaSpeedExpiraTick = 0L;
+            if (paletaAnchoOriginal >= 0) {
+                restaurarTamanoPaletaOriginal();
             }
+            // Restablecer velocidades base estrictas de la dificultad
+            velPelotaX = settings.velPelotaX;
+            velPelotaY = settings.velPelotaY;
+        } else {
+            velPelotaX = prog.newVelX;
+            velPelotaY = prog.newVelY;
+            if (prog.newPaddleWidth != paleta.getAncho()) {
+                paleta.redimensionar(paleta.getX(), prog.newPaddleWidth);
+            }
+        }
+    }
 
-            crearBloques(filasParaNivel(nivel));
-            pelotas.clear();
-            pelotas.add(new BolaPing(
-                    paleta.getX() + paleta.getAncho()/2 - 5,
-                    paleta.getY() + paleta.getAlto() + 11,
-                    10, velPelotaX, velPelotaY, true
-            ));
+    /**
+     * Salta al nivel indicado con la progresión de los anteriores aplicada (sin
+     * puntaje ni vidas extra) y una bola nueva en la paleta. Para escenarios de
+     * rendimiento y pruebas; no se graba en la repetición.
+     */
+    public void irANivel(int destino) {
+        while (nivel < destino) {
+            nivel++;
+            aplicarProgresionDeNivel();
+        }
+        crearBloques(filasParaNivel(nivel));
+        reponerPelotaEnPaleta();
+    }
+
+    /**
+     * Una sola pasada sobre los eventos del tick: aplica el daño en el orden de los
+     * impactos, encola una explosión por impacto si la bola es explosiva y luego
+     * puntúa, suelta power-ups y retira las celdas destruidas. Retirar es O(1)
+     * (un bit del campo).
+     */
+    private void resolverImpactos() {
+        for (int i = 0; i < impactos.size(); i++) {
+            int c = impactos.getCelda(i);
+            if (campo.recibirImpacto(c)) celdasDestruidas.add(c);
+            if (bolaExplosivaActiva) encolarDetonacion(c);
+        }
+        procesarDetonaciones();
+
+        // Puntaje y drops en orden de celda (el mismo orden de la fábrica)
+        celdasDestruidas.sort();
+        for (int i = 0; i < celdasDestruidas.size; i++) {
+            int c = celdasDestruidas.get(i);
+            puntaje++;
+            intentarSoltarPowerUp(c);
+            if (particulas != null) {
+                particulas.emitirEscombros(campo.getX(c), campo.getY(c), campo.getAnchoCelda(), campo.getAltoCelda());
+            }
+            campo.retirar(c);
+            if (broadPhase != campo) broadPhase.quitar(c);
         }
+        celdasDestruidas.clear();
     }
 
-    public void dibujar(SpriteBatch batch, ShapeRenderer sr, float ancho, float alto) {
-        batch.begin();
-        paleta.dibujar(batch);
-        for (Bloque b : bloques) b.dibujar(batch);
-        hud.dibujar(batch, ancho, alto, puntaje, vidas, nivel, settings.dificultad,
-                mostrarBonificacionVidaHastaMs, TimeUtils.millis());
-        batch.end();
+    public void dibujar(RenderQueue cola, float ancho, float alto) {
+        dibujar(cola, ancho, alto, 1f);
+    }
 
-        sr.begin(ShapeRenderer.ShapeType.Filled);
-        for (BolaPing bp : pelotas) bp.dibujar(sr);
-        for (PowerUp p : powerUps) p.dibujar(sr);
-        sr.end();
+    /**
+     * Anota el mundo en la cola de dibujo del frame, interpolando las piezas
+     * móviles entre el tick anterior y el actual; alfa es la fracción del tick
+     * siguiente ya transcurrida. Los bloques son un único sprite: la capa en caché,
+     * que antes se pone al día con las celdas que cambiaron.
+     */
+    public void dibujar(RenderQueue cola, float ancho, float alto, float alfa) {
+        if (capaBloques == null) capaBloques = new BlockLayer(cola.getBlanco());
+        capaBloques.actualizar(campo, cola.getBatch(), ancho, alto);
+        capaBloques.dibujar(cola);
+        paleta.dibujar(cola, alfa);
+        bolas.dibujar(cola, alfa);
+        if (particulas != null) particulas.dibujar(cola, alfa);
+        for (int i = 0; i < powerUps.size; i++) powerUps.get(i).dibujar(cola, alfa);
+        hud.dibujar(cola, ancho, alto, puntaje, vidas, nivel, settings.dificultad,
+                mostrarBonificacionVidaHastaTick, reloj.getTick());
     }
 
-    private void intentarSoltarPowerUp(Bloque b) {
+    /** Libera los recursos de GL del dibujo (la capa de bloques); la simulación sigue usable. */
+    public void dispose() {
+        if (capaBloques != null) capaBloques.dispose();
+    }
+
+    private void intentarSoltarPowerUp(int celda) {
         float prob = getProbDropPowerUpForDifficulty();
-        if (Math.random() < prob) {
+        if (azarDrops.nextDouble() < prob) {
             PowerUpType tipo = sortearTipoPowerUp();
-            int size = 22;
-            int px = b.getX() + b.getAncho()/2 - size/2;
-            int py = Math.max(0, b.getY() - size - 2);
-            powerUps.add(new PowerUp(px, py, size, size, tipo));
+            int size = TAMANO_POWERUP;
+            int px = campo.getX(celda) + campo.getAnchoCelda()/2 - size/2;
+            int py = Math.max(0, campo.getY(celda) - size - 2);
+            powerUps.add(poolPowerUps.obtain().iniciar(px, py, size, size, tipo, ticksRetardoRecogida()));
+            if (listener != null) listener.alSoltarPowerUp(tipo, nivel);
         }
     }
 
+    /** El retardo de recogida en ticks del reloj de juego. */
+    private int ticksRetardoRecogida() {
+        return (int) reloj.ticksPara(PowerUp.RETARDO_RECOGIDA_MS);
+    }
+
+    /** Devuelve al pool todos los power-ups en pantalla. */
+    private void liberarPowerUps() {
+        poolPowerUps.freeAll(powerUps);
+        powerUps.clear();
+    }
+
     private float getProbDropPowerUpForDifficulty() {
         if (difficultyStrategy != null) {
             return probDropPowerUp * difficultyStrategy.getProbDropModifier();
@@ -270,58 +530,60 @@ public class GameWorld {
     }
 
     private PowerUpType sortearTipoPowerUp() {
-        PowerUpDistribution dist = (difficultyStrategy != null)
-                ? difficultyStrategy.adjustDistributionForLevel(difficultyStrategy.getBaseDistribution(), nivel)
-                : new PowerUpDistribution(0.30,0.25,0.15,0.15,0.10,0.03,0.02);
-
-        double suma = dist.grow + dist.shrink + dist.explosive + dist.life + dist.split + dist.speedUp + dist.speedDown;
-        if (suma <= 0) return PowerUpType.PADDLE_SHRINK;
-
-        dist.grow     /= suma;
-        dist.shrink   /= suma;
-        dist.explosive/= suma;
-        dist.life     /= suma;
-        dist.split    /= suma;
-        dist.speedUp  /= suma;
-        dist.speedDown/= suma;
-
-        double r = Math.random();
-        if (r < dist.grow) return PowerUpType.PADDLE_GROW;
-        r -= dist.grow;
-        if (r < dist.shrink) return PowerUpType.PADDLE_SHRINK;
-        r -= dist.shrink;
-        if (r < dist.explosive) return PowerUpType.EXPLOSIVE_BALL;
-        r -= dist.explosive;
-        if (r < dist.life) return PowerUpType.EXTRA_LIFE;
-        r -= dist.life;
-        if (r < dist.split) return PowerUpType.SPLIT_BALL;
-        r -= dist.split;
-        if (r < dist.speedUp) return PowerUpType.SPEED_UP;
-        return PowerUpType.SPEED_DOWN;
+        PowerUpDistribution dist = distribucionDelNivel();
+        if (dist == null) return PowerUpType.PADDLE_SHRINK;
+        return dist.sortear(azarDrops.nextDouble());
     }
 
-    private void actualizarYAplicarPowerUps() {
-        Rectangle rectPaleta = paleta.getRect();
-        for (int i = 0; i < powerUps.size(); i++) {
-            PowerUp p = powerUps.get(i);
-            p.actualizar();
-
-            if (p.getY() + p.getAlto() < 0) { powerUps.remove(i); i--; continue; }
+    /**
+     * Distribución del nivel ya normalizada (null si todo suma 0). Las estrategias
+     * crean una distribución nueva en cada llamada, así que se cachea por nivel.
+     */
+    private PowerUpDistribution distribucionDelNivel() {
+        if (distribucionNivel == null || estrategiaDistribucion != difficultyStrategy || nivelDistribucion != nivel) {
+            PowerUpDistribution dist = (difficultyStrategy != null)
+                    ? difficultyStrategy.adjustDistributionForLevel(difficultyStrategy.getBaseDistribution(), nivel)
+                    : new PowerUpDistribution(0.30,0.25,0.15,0.15,0.10,0.03,0.02);
+
+            distribucionNivel = dist.normalizar() ? dist : null;
+            estrategiaDistribucion = difficultyStrategy;
+            nivelDistribucion = nivel;
+        }
+        return distribucionNivel;
+    }
 
-            if (p.isActive() && p.getRect().overlaps(rectPaleta)) {
+    /** Compacta en el lugar conservando el orden; los ítems recogidos o perdidos vuelven al pool. */
+    private void actualizarYAplicarPowerUps() {
+        PowerUp[] items = powerUps.items;
+        int n = powerUps.size;
+        int vivos = 0;
+        for (int i = 0; i < n; i++) {
+            PowerUp p = items[i];
+            p.actualizar(reloj.getPasoSegundos());
+
+            boolean recoger = p.getY() + p.getAlto() >= 0 && p.isActive() && p.solapaCon(paleta);
+            if (recoger) {
+                if (listener != null) listener.alRecogerPowerUp(p.getTipo(), nivel);
                 aplicarPowerUp(p.getTipo());
-                powerUps.remove(i);
-                i--;
             }
+
+            if (recoger || p.getY() + p.getAlto() < 0) poolPowerUps.free(p);
+            else items[vivos++] = p;
         }
+        powerUps.truncate(vivos);
+    }
+
+    /** Aplica un power-up como si la paleta lo hubiera recogido (escenarios y pruebas; no se graba). */
+    public void activarPowerUp(PowerUpType tipo) {
+        aplicarPowerUp(tipo);
     }
 
     private void aplicarPowerUp(PowerUpType tipo) {
-        long ahora = TimeUtils.millis();
+        long ahora = reloj.getTick();
         switch (tipo) {
             case EXPLOSIVE_BALL:
                 bolaExplosivaActiva = true;
-                bolaExplosivaHastaMs = ahora + 8000;
+                bolaExplosivaHastaTick = ahora + reloj.ticksPara(DURACION_BOLA_EXPLOSIVA_MS);
                 break;
             case PADDLE_GROW:
                 modificarPaleta(+30, ahora);
@@ -331,7 +593,7 @@ public class GameWorld {
                 break;
             case EXTRA_LIFE:
                 vidas++;
-                mostrarBonificacionVidaHastaMs = ahora + duracionBonificacionVida;
+                mostrarBonificacionVidaHastaTick = ahora + reloj.ticksPara(duracionBonificacionVida);
                 break;
             case SPLIT_BALL:
                 splitBalls();
@@ -346,42 +608,231 @@ public class GameWorld {
     }
 
     private void modificarPaleta(int deltaAncho, long ahora) {
-        if (paletaAnchoOriginal == null) paletaAnchoOriginal = paleta.getAncho();
+        if (paletaAnchoOriginal < 0) paletaAnchoOriginal = paleta.getAncho();
         int nuevoAncho = deltaAncho > 0
                 ? Math.min(260, paleta.getAncho() + deltaAncho)
                 : Math.max(50, paleta.getAncho() + deltaAncho);
         float centro = paleta.getX() + paleta.getAncho() / 2f;
         int nuevoX = Math.round(centro - nuevoAncho / 2f);
-        nuevoX = Math.max(0, Math.min(nuevoX, Gdx.graphics.getWidth() - nuevoAncho));
-        paleta = new Plataforma(nuevoX, paleta.getY(), nuevoAncho, paleta.getAlto(), texturaPaleta);
-        paleta.setVelPxPorSeg(settings.velocidadPaleta);
-        paletaTamanoExpiraMs = ahora + getPaletaDurationMs();
+        nuevoX = Math.max(0, Math.min(nuevoX, contexto.getAncho() - nuevoAncho));
+        paleta.redimensionar(nuevoX, nuevoAncho);
+        paletaTamanoExpiraTick = ahora + reloj.ticksPara(getPaletaDurationMs());
     }
 
+    /** Tres bolas nuevas (izquierda, centro, derecha) por cada bola existente, hasta el tope. */
     private void splitBalls() {
-        List<BolaPing> nuevas = new ArrayList<>();
-        for (BolaPing b : pelotas) {
-            int yPos = b.getY();
-            int xPos = b.getX();
-            int speedX = Math.max(2, Math.abs(velPelotaX));
-            int speedY = Math.max(3, Math.abs(velPelotaY));
-            BolaPing bl = new BolaPing(xPos, yPos, b.getRadio(), -speedX, speedY, false);
-            BolaPing bm = new BolaPing(xPos, yPos, b.getRadio(), 0,       speedY, false);
-            BolaPing br = new BolaPing(xPos, yPos, b.getRadio(), speedX,  speedY, false);
-            if (bolaSpeedMultiplicador != null) {
-                bl.aplicarMultiplicadorVelocidad(bolaSpeedMultiplicador);
-                bm.aplicarMultiplicadorVelocidad(bolaSpeedMultiplicador);
-                br.aplicarMultiplicadorVelocidad(bolaSpeedMultiplicador);
-            }
-            nuevas.add(bl); nuevas.add(bm); nuevas.add(br);
+        int existentes = bolas.size();
+        int speedX = Math.max(2, Math.abs(velPelotaX));
+        int speedY = Math.max(3, Math.abs(velPelotaY));
+        for (int i = 0; i < existentes && !bolas.estaLleno(); i++) {
+            int xPos = bolas.getX(i);
+            int yPos = bolas.getY(i);
+            int r = bolas.getRadio(i);
+            agregarBola(xPos, yPos, r, -speedX, speedY);
+            agregarBola(xPos, yPos, r, 0,       speedY);
+            agregarBola(xPos, yPos, r, speedX,  speedY);
         }
-        pelotas.addAll(nuevas);
+    }
+
+    private void agregarBola(int x, int y, int r, int vx, int vy) {
+        int i = bolas.agregar(x, y, r, vx, vy, false);
+        if (i >= 0 && bolaSpeedMultiplicador != 0f) bolas.aplicarMultiplicadorVelocidad(i, bolaSpeedMultiplicador);
+        reservarImpactos();
+    }
+
+    /**
+     * Cada bola registra a lo sumo BallStepper.MAX_IMPACTOS_POR_TICK impactos por
+     * tick: reservando eso para la capacidad de BallSystem, el buffer crece solo
+     * cuando crecen los arreglos de bolas y nunca en el tick en que muchas pegan
+     * a la vez.
+     */
+    private void reservarImpactos() {
+        impactos.reservar(BallStepper.MAX_IMPACTOS_POR_TICK * bolas.getCapacidad());
     }
 
     private void applyBallSpeedMultiplier(float mult, long durationMs) {
         bolaSpeedMultiplicador = mult;
-        bolaSpeedExpiraMs = TimeUtils.millis() + durationMs;
-        for (BolaPing b : pelotas) b.aplicarMultiplicadorVelocidad(mult);
+        bolaSpeedExpiraTick = reloj.getTick() + reloj.ticksPara(durationMs);
+        for (int i = 0; i < bolas.size(); i++) bolas.aplicarMultiplicadorVelocidad(i, mult);
+    }
+
+    /**
+     * Modo multibola de estrés: cada reposición lanza una ráfaga de miles de bolas en
+     * abanico desde la paleta, con tope alto. Sirve para medir la simulación y el dibujo.
+     */
+    public void setModoEstres(boolean activo) {
+        this.modoEstres = activo;
+        bolas.setMaxBolas(activo ? MAX_BOLAS_MODO_ESTRES : MAX_BOLAS);
+    }
+
+    public boolean isModoEstres() { return modoEstres; }
+
+    /** Cambia el tope blando de bolas simultáneas. */
+    public void setMaxBolas(int max) { bolas.setMaxBolas(max); }
+
+    public int getCantidadBolas() { return bolas.size(); }
+
+    /** Bolas, paleta, campo y power-ups del tick actual, para controles automáticos; no deben modificarse desde afuera. */
+    public BallSystem getBolas() { return bolas; }
+    public Plataforma getPaleta() { return paleta; }
+    public BlockField getCampo() { return campo; }
+    public Array<PowerUp> getPowerUps() { return powerUps; }
+
+    /** Power-ups libres en el pool, listos para reusar. */
+    int getPowerUpsLibres() { return poolPowerUps.getFree(); }
+    public WorldContext getContexto() { return contexto; }
+
+    /** Graba la entrada de cada tick (null para no grabar). Empezar justo después de iniciarJuego. */
+    public void setGrabacion(ReplayRecorder grabacion) { this.grabacion = grabacion; }
+
+    /**
+     * Hash del estado simulado (bolas, paleta, campo, power-ups, efectos, marcador).
+     * Dos mundos con la misma semilla y la misma entrada dan el mismo hash en cada tick.
+     */
+    public long hashEstado() {
+        long h = 0xcbf29ce484222325L;
+        h = mezclar(h, reloj.getTick());
+        h = mezclar(h, puntaje);
+        h = mezclar(h, vidas);
+        h = mezclar(h, nivel);
+        h = mezclar(h, Float.floatToIntBits(paleta.getPosX()));
+        h = mezclar(h, paleta.getAncho());
+        for (int i = 0; i < bolas.size(); i++) {
+            h = mezclar(h, Float.floatToIntBits(bolas.getPx(i)));
+            h = mezclar(h, Float.floatToIntBits(bolas.getPy(i)));
+            h = mezclar(h, bolas.getVelX(i) * 31 + bolas.getVelY(i));
+        }
+        for (int c = campo.siguienteOcupada(0); c >= 0; c = campo.siguienteOcupada(c + 1)) {
+            h = mezclar(h, c * 256 + campo.getHp(c));
+        }
+        for (int i = 0; i < powerUps.size; i++) {
+            PowerUp p = powerUps.get(i);
+            h = mezclar(h, p.getX() * 31 + p.getY());
+            h = mezclar(h, p.getTipo().ordinal());
+        }
+        h = mezclar(h, bolaExplosivaActiva ? 1 : 0);
+        return h;
+    }
+
+    // ----------------- snapshot (formato en WorldSnapshot) -----------------
+
+    private static final Dificultad[] DIFICULTADES = Dificultad.values();
+
+    /** Bytes que ocupa escribirEstado() con el estado actual. */
+    int tamanoEstado() {
+        return 256 + bolas.tamanoSnapshot() + campo.tamanoSnapshot()
+                + powerUps.size * PowerUp.TAMANO_SNAPSHOT + detonaciones.size * 4;
+    }
+
+    /**
+     * Escribe todo el estado simulado entre ticks. El reloj de juego viaja con el
+     * estado, así que los plazos de los efectos se guardan como ticks absolutos.
+     */
+    void escribirEstado(ByteBuffer buf) {
+        buf.put((byte) settings.dificultad.ordinal());
+        buf.put((byte) ((modoEstres ? 1 : 0) | (reaccionEnCadena ? 2 : 0) | (bolaExplosivaActiva ? 4 : 0)));
+        buf.putInt(maxDetonacionesPorTick).putFloat(probDropPowerUp).putFloat(reloj.getPasoSegundos());
+        buf.putInt(puntaje).putInt(vidas).putInt(nivel).putInt(velPelotaX).putInt(velPelotaY);
+        buf.putLong(reloj.getTick());
+        buf.putLong(semilla);
+        buf.putLong(mostrarBonificacionVidaHastaTick);
+        buf.putLong(bolaExplosivaHastaTick);
+        buf.putFloat(bolaSpeedMultiplicador).putLong(bolaSpeedExpiraTick);
+        buf.putInt(paletaAnchoOriginal).putLong(paletaTamanoExpiraTick);
+        azarNiveles.escribir(buf);
+        azarDrops.escribir(buf);
+        azarBonos.escribir(buf);
+        paleta.escribir(buf);
+        bolas.escribir(buf);
+        campo.escribir(buf);
+        buf.putInt(powerUps.size);
+        for (int i = 0; i < powerUps.size; i++) powerUps.get(i).escribir(buf);
+        buf.putInt(detonaciones.size);
+        for (int i = 0; i < detonaciones.size; i++) buf.putInt(detonaciones.get(i));
+    }
+
+    /** Inverso de escribirEstado(); el mundo queda listo para el próximo tick. */
+    void leerEstado(ByteBuffer buf) {
+        int indiceDificultad = buf.get();
+        if (indiceDificultad < 0 || indiceDificultad >= DIFICULTADES.length) {
+            throw new IllegalArgumentException("dificultad desconocida en el snapshot: " + indiceDificultad);
+        }
+        // Las partículas vivas eran de otro momento de la partida
+        if (particulas != null) particulas.limpiar();
+        Dificultad d = DIFICULTADES[indiceDificultad];
+        if (settings.dificultad != d) aplicarDificultad(new DifficultySettings(d));
+        int flags = buf.get();
+        setModoEstres((flags & 1) != 0);
+        reaccionEnCadena = (flags & 2) != 0;
+        bolaExplosivaActiva = (flags & 4) != 0;
+        maxDetonacionesPorTick = buf.getInt();
+        probDropPowerUp = buf.getFloat();
+        float pasoSegundos = buf.getFloat();
+        puntaje = buf.getInt();
+        vidas = buf.getInt();
+        nivel = buf.getInt();
+        velPelotaX = buf.getInt();
+        velPelotaY = buf.getInt();
+        reloj.restaurar(buf.getLong(), pasoSegundos);
+        semilla = buf.getLong();
+        mostrarBonificacionVidaHastaTick = buf.getLong();
+        bolaExplosivaHastaTick = buf.getLong();
+        bolaSpeedMultiplicador = buf.getFloat();
+        bolaSpeedExpiraTick = buf.getLong();
+        paletaAnchoOriginal = buf.getInt();
+        paletaTamanoExpiraTick = buf.getLong();
+        azarNiveles.leer(buf);
+        azarDrops.leer(buf);
+        azarBonos.leer(buf);
+        paleta.leer(buf);
+        bolas.leer(buf);
+        reservarImpactos();
+        campo.leer(buf);
+        liberarPowerUps();
+        for (int i = 0, n = buf.getInt(); i < n; i++) powerUps.add(poolPowerUps.obtain().leer(buf));
+        detonaciones.clear();
+        enCola.clear();
+        reservarDetonaciones();
+        for (int i = 0, n = buf.getInt(); i < n; i++) encolarDetonacion(buf.getInt());
+        impactos.limpiar();
+        celdasDestruidas.clear();
+        reconstruirBroadPhase();
+    }
+
+    private static long mezclar(long h, long v) {
+        h ^= v;
+        h *= 0x100000001b3L;
+        return h ^ (h >>> 29);
+    }
+
+    /** Observador de eventos de partida (null para ninguno). */
+    public void setListener(Listener listener) { this.listener = listener; }
+
+    /**
+     * Con muchas bolas, avanza la fase de bolas en el pool común de fork-join.
+     * El resultado es idéntico al secuencial; solo se usa con la broadphase del campo.
+     */
+    public void setFaseParalela(boolean activa) { this.faseParalela = activa; }
+
+    /**
+     * Sistema de partículas para escombros y explosiones (null para ninguno). Es
+     * solo visual: no cambia la simulación ni la repetición.
+     */
+    public void setParticulas(ParticleSystem particulas) { this.particulas = particulas; }
+    public ParticleSystem getParticulas() { return particulas; }
+
+    private void lanzarRafagaEstres() {
+        lanzarRafaga(BOLAS_MODO_ESTRES);
+    }
+
+    /** Lanza hasta cantidad bolas en abanico desde la paleta, sin pasar el tope de bolas. */
+    public void lanzarRafaga(int cantidad) {
+        int vy = Math.max(3, Math.abs(velPelotaY));
+        int base = paleta.getY() + paleta.getAlto() + RADIO_BOLA + 1;
+        for (int k = 0; k < cantidad && !bolas.estaLleno(); k++) {
+            int x = paleta.getX() + (k * 7) % Math.max(1, paleta.getAncho());
+            agregarBola(x, base + (k / 64) % 40, RADIO_BOLA, (k % 13) - 6, vy + (k % 3));
+        }
     }
 
     private long getPaletaDurationMs() {
@@ -390,79 +841,88 @@ public class GameWorld {
     }
 
     private void restaurarTamanoPaletaOriginal() {
-        if (paletaAnchoOriginal == null) return;
+        if (paletaAnchoOriginal < 0) return;
         int anchoOriginal = paletaAnchoOriginal;
         float centro = paleta.getX() + paleta.getAncho() / 2f;
         int nuevoX = Math.round(centro - anchoOriginal / 2f);
-        nuevoX = Math.max(0, Math.min(nuevoX, Gdx.graphics.getWidth() - anchoOriginal));
-        paleta = new Plataforma(nuevoX, paleta.getY(), anchoOriginal, paleta.getAlto(), texturaPaleta);
-        paleta.setVelPxPorSeg(settings.velocidadPaleta);
-        paletaAnchoOriginal = null;
-        paletaTamanoExpiraMs = 0L;
-    }
-
-    private Bloque detectarImpactoConAlgúnBloque() {
-        for (BolaPing b : pelotas) {
-            if (b.estaQuieta()) continue;
-            int cx = b.getX();
-            int cy = b.getY();
-            int r  = b.getRadio();
-            for (Bloque bl : bloques) {
-                if (circleIntersectsRect(cx, cy, r, bl.getRect())) return bl;
-            }
-        }
-        return null;
+        nuevoX = Math.max(0, Math.min(nuevoX, contexto.getAncho() - anchoOriginal));
+        paleta.redimensionar(nuevoX, anchoOriginal);
+        paletaAnchoOriginal = -1;
+        paletaTamanoExpiraTick = 0L;
     }
 
-    private void aplicarExplosionAlrededorDe(Bloque impactado) {
-        float cx = impactado.getX() + impactado.getAncho() / 2f;
-        float cy = impactado.getY() + impactado.getAlto() / 2f;
-        float r2 = radioExplosionPx * radioExplosionPx;
-        for (Bloque b : bloques) {
-            if (b == impactado) continue;
-            if (b.esIrrompible()) continue;
-            float bx = b.getX() + b.getAncho() / 2f;
-            float by = b.getY() + b.getAlto() / 2f;
-            float dx = bx - cx;
-            float dy = by - cy;
-            if (dx*dx + dy*dy <= r2) b.destruir();
-        }
+    private void encolarDetonacion(int celda) {
+        if (!enCola.getAndSet(celda)) detonaciones.add(celda);
     }
 
-    private boolean circleIntersectsRect(int cx, int cy, int radius, Rectangle r) {
-        float closestX = clamp(cx, r.x, r.x + r.width);
-        float closestY = clamp(cy, r.y, r.y + r.height);
-        float dx = cx - closestX;
-        float dy = cy - closestY;
-        return (dx*dx + dy*dy) <= (radius * radius);
+    /** Detona la cola en orden FIFO hasta el tope del tick; lo ya detonado se descarta del frente. */
+    private void procesarDetonaciones() {
+        int presupuesto = maxDetonacionesPorTick;
+        int cabeza = 0;
+        while (cabeza < detonaciones.size && presupuesto-- > 0) {
+            int c = detonaciones.get(cabeza++);
+            enCola.clear(c);
+            aplicarExplosionAlrededorDe(c);
+        }
+        if (cabeza == detonaciones.size) {
+            detonaciones.clear();
+        } else if (cabeza > 0) {
+            detonaciones.removeRange(0, cabeza - 1);
+        }
     }
 
-    private float clamp(float v, float a, float b) {
-        if (v < a) return a;
-        if (v > b) return b;
-        return v;
+    /** Destruye las celdas rompibles cuyo centro cae en el radio; solo visita las cercanas. */
+    private void aplicarExplosionAlrededorDe(int impactada) {
+        float cx = campo.getX(impactada) + campo.getAnchoCelda() / 2f;
+        float cy = campo.getY(impactada) + campo.getAltoCelda() / 2f;
+        if (particulas != null) particulas.emitirExplosion(cx, cy, radioExplosionPx);
+        enRadio.clear();
+        campo.consultarRadio(cx, cy, radioExplosionPx, enRadio);
+        for (int i = 0; i < enRadio.size; i++) {
+            int c = enRadio.get(i);
+            if (c == impactada) continue;
+            if (campo.destruir(c)) {
+                celdasDestruidas.add(c);
+                if (reaccionEnCadena) encolarDetonacion(c);
+            }
+        }
     }
 
+    /** Activa la reacción en cadena de EXPLOSIVE_BALL (por defecto desactivada). */
+    public void setReaccionEnCadena(boolean activa) { this.reaccionEnCadena = activa; }
+    public boolean isReaccionEnCadena() { return reaccionEnCadena; }
+    public boolean isBolaExplosivaActiva() { return bolaExplosivaActiva; }
+
+    /** Tope de explosiones por tick; el resto de la cascada continúa en los ticks siguientes. */
+    public void setMaxDetonacionesPorTick(int max) { this.maxDetonacionesPorTick = Math.max(1, max); }
+
     public void setProbDropPowerUp(float prob) { this.probDropPowerUp = Math.max(0f, Math.min(1f, prob)); }
     public int getVidas() { return vidas; }
     public int getNivel() { return nivel; }
     public int getPuntaje() { return puntaje; }
+    /** Semilla de la partida en curso. */
+    public long getSemilla() { return semilla; }
     public DifficultySettings getSettings() { return settings; }
 
     public void reiniciarNivel() {
+        if (grabacion != null) grabacion.alReiniciarNivel();
         crearBloques(filasParaNivel(nivel));
-        powerUps.clear();
+        liberarPowerUps();
         // Limpiar efectos temporales (si activos)
-        if (paletaAnchoOriginal != null) {
+        if (paletaAnchoOriginal >= 0) {
             restaurarTamanoPaletaOriginal();
         }
-        bolaSpeedMultiplicador = null;
-        bolaSpeedExpiraMs = 0L;
-        pelotas.clear();
-        pelotas.add(new BolaPing(
-                paleta.getX() + paleta.getAncho()/2 - 5,
-                paleta.getY() + paleta.getAlto() + 11,
-                10, velPelotaX, velPelotaY, true
-        ));
+        bolaSpeedMultiplicador = 0f;
+        bolaSpeedExpiraTick = 0L;
+        reponerPelotaEnPaleta();
+    }
+
+    /** Deja una sola bola quieta sobre la paleta (en modo estrés, además, una ráfaga nueva). */
+    private void reponerPelotaEnPaleta() {
+        bolas.limpiar();
+        int px = paleta.getX() + paleta.getAncho()/2 - 5;
+        int py = paleta.getY() + paleta.getAlto() + 11;
+        bolas.agregar(px, py, RADIO_BOLA, velPelotaX, velPelotaY, true);
+        if (modoEstres) lanzarRafagaEstres();
     }
 }
\ No newline at end of file
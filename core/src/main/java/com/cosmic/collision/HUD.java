@@ -1,36 +1,84 @@
 package com.cosmic.collision;
 
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.utils.Align;
 
 /**
  * HUD: No cambia la escala de la fuente. Dibuja siempre con su propia fuente.
+ * Cada campo (puntos, vidas, nivel, dificultad) tiene su BitmapFontCache con los
+ * glifos ya maquetados y solo se rearma cuando cambia su valor o su posición; el
+ * número se escribe en un StringBuilder reutilizado. Si nada cambió, dibujar no
+ * asigna memoria ni vuelve a maquetar texto. Las cachés se dibujan recién al
+ * enviar la cola, así que cada HUD se anota una sola vez por frame. Las cachés
+ * guardan los valores de un mundo: cada GameWorld necesita su propio HUD.
  */
 public class HUD {
+    private static final int PUNTOS = 0;
+    private static final int VIDAS = 1;
+    private static final int NIVEL = 2;
+    private static final int DIF = 3;
+    private static final String[] ETIQUETAS = { "Puntos: ", "Vidas : ", "Nivel : ", "Dif   : " };
+    private static final String VIDA_EXTRA = "¡VIDA EXTRA CONSEGUIDA!";
+
     private final BitmapFont fuente;
-    private final GlyphLayout layout = new GlyphLayout();
+    private final BitmapFontCache[] campos = new BitmapFontCache[ETIQUETAS.length];
+    private final long[] valores = new long[ETIQUETAS.length];
+    private final float[] posX = new float[ETIQUETAS.length];
+    private final float[] posY = new float[ETIQUETAS.length];
+    private final boolean[] armado = new boolean[ETIQUETAS.length];
+    private final BitmapFontCache vidaExtra;
+    private float anchoVidaExtra = -1f, altoVidaExtra = -1f;
+    private final StringBuilder texto = new StringBuilder(32);
+    private int rearmados;
 
     public HUD(BitmapFont fuente) {
         this.fuente = fuente;
+        for (int i = 0; i < campos.length; i++) campos[i] = new BitmapFontCache(fuente, fuente.usesIntegerPositions());
+        this.vidaExtra = new BitmapFontCache(fuente, fuente.usesIntegerPositions());
     }
 
-    public void dibujar(SpriteBatch batch,
+    public void dibujar(RenderQueue cola,
                         float ancho, float alto,
                         int puntaje, int vidas, int nivel, Dificultad dif,
-                        long mostrarBonificacionVidaHastaMs, long ahora) {
+                        long mostrarBonificacionVidaHastaTick, long tickActual) {
 
-        batch.setColor(1f,1f,1f,1f);
+        campo(cola, PUNTOS, puntaje, null, 10, 25);
+        campo(cola, VIDAS, vidas, null, ancho - 240, 25);
+        campo(cola, NIVEL, nivel, null, ancho/2f - 60, 25);
+        campo(cola, DIF, dif.ordinal(), dif, ancho/2f + 120, 25);
 
-        fuente.draw(batch, "Puntos: " + puntaje, 10, 25);
-        fuente.draw(batch, "Vidas : " + vidas, ancho - 240, 25);
-        fuente.draw(batch, "Nivel : " + nivel, ancho/2f - 60, 25);
-        fuente.draw(batch, "Dif   : " + dif, ancho/2f + 120, 25);
+        if (tickActual < mostrarBonificacionVidaHastaTick) {
+            if (ancho != anchoVidaExtra || alto != altoVidaExtra) {
+                vidaExtra.setText(VIDA_EXTRA, 0, alto / 2f, ancho, Align.center, false);
+                anchoVidaExtra = ancho;
+                altoVidaExtra = alto;
+                rearmados++;
+            }
+            cola.texto(vidaExtra);
+        }
+    }
 
-        if (ahora < mostrarBonificacionVidaHastaMs) {
-            String msg = "¡VIDA EXTRA CONSEGUIDA!";
-            layout.setText(fuente, msg);
-            fuente.draw(batch, msg, (ancho - layout.width) / 2f, alto / 2f);
+    /**
+     * Anota un campo; lo rearma solo si cambió su valor o su posición. nombre, si
+     * no es null, es lo que se muestra en lugar del número (la dificultad).
+     */
+    private void campo(RenderQueue cola, int i, long valor, Object nombre, float x, float y) {
+        if (!armado[i] || valores[i] != valor || posX[i] != x || posY[i] != y) {
+            texto.setLength(0);
+            texto.append(ETIQUETAS[i]);
+            if (nombre != null) texto.append(nombre);
+            else texto.append(valor);
+            campos[i].setText(texto, x, y);
+            valores[i] = valor;
+            posX[i] = x;
+            posY[i] = y;
+            armado[i] = true;
+            rearmados++;
         }
+        cola.texto(campos[i]);
     }
-}
\ No newline at end of file
+
+    /** Campos rearmados desde que se creó el HUD (para comprobar que no se rearma en cada frame). */
+    public int getRearmados() { return rearmados; }
+}
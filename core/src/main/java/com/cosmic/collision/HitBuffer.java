@@ -0,0 +1,66 @@
+package com.cosmic.collision;
+
+import java.util.Arrays;
+
+/**
+ * Eventos de impacto bola-bloque de un tick, en el orden en que ocurrieron.
+ * Arreglos paralelos reutilizables: registrar no asigna memoria salvo al crecer.
+ * La fase de bolas solo registra; el daño, las explosiones y el puntaje se
+ * aplican después recorriendo los eventos en orden.
+ */
+public final class HitBuffer {
+
+    private int[] bola = new int[16];
+    private int[] celda = new int[16];
+    private int[] tick = new int[16];
+    private int size;
+
+    public void registrar(int indiceBola, int indiceCelda, int numeroTick) {
+        if (size == bola.length) crecer();
+        bola[size] = indiceBola;
+        celda[size] = indiceCelda;
+        tick[size] = numeroTick;
+        size++;
+    }
+
+    /** Agrega al final los eventos de otro buffer, conservando su orden. */
+    public void agregarTodos(HitBuffer otro) {
+        int n = size + otro.size;
+        if (n > bola.length) {
+            int cap = bola.length;
+            while (cap < n) cap *= 2;
+            crecerA(cap);
+        }
+        System.arraycopy(otro.bola, 0, bola, size, otro.size);
+        System.arraycopy(otro.celda, 0, celda, size, otro.size);
+        System.arraycopy(otro.tick, 0, tick, size, otro.size);
+        size = n;
+    }
+
+    public int size() { return size; }
+    public int getBola(int i) { return bola[i]; }
+    public int getCelda(int i) { return celda[i]; }
+    public int getTick(int i) { return tick[i]; }
+
+    public void limpiar() {
+        size = 0;
+    }
+
+    /** Deja lugar para n eventos sin crecer durante un tick (no achica). */
+    public void reservar(int n) {
+        if (n <= bola.length) return;
+        int cap = bola.length;
+        while (cap < n) cap *= 2;
+        crecerA(cap);
+    }
+
+    private void crecer() {
+        crecerA(bola.length * 2);
+    }
+
+    private void crecerA(int n) {
+        bola = Arrays.copyOf(bola, n);
+        celda = Arrays.copyOf(celda, n);
+        tick = Arrays.copyOf(tick, n);
+    }
+}
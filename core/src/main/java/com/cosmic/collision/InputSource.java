@@ -0,0 +1,35 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+/**
+ * Origen de los controles del jugador. El mundo solo pregunta por estas tres
+ * acciones, así que puede manejarlo el teclado, un script o un bot sin ventana.
+ */
+public interface InputSource {
+
+    /** Bits de una muestra de entrada (lo que el mundo leyó en un tick). */
+    int BIT_IZQUIERDA = 1;
+    int BIT_DERECHA = 2;
+    int BIT_LANZAR = 4;
+
+    /** Flechas y ESPACIO del teclado vía Gdx.input (requiere un backend activo). */
+    InputSource TECLADO = new InputSource() {
+        @Override public boolean izquierda() { return Gdx.input.isKeyPressed(Input.Keys.LEFT); }
+        @Override public boolean derecha() { return Gdx.input.isKeyPressed(Input.Keys.RIGHT); }
+        @Override public boolean lanzar() { return Gdx.input.isKeyPressed(Input.Keys.SPACE); }
+    };
+
+    boolean izquierda();
+    boolean derecha();
+    /** Suelta las bolas que esperan quietas sobre la paleta. */
+    boolean lanzar();
+
+    /** Lee las tres acciones una sola vez y las empaqueta en bits. */
+    static int muestrear(InputSource entrada) {
+        return (entrada.izquierda() ? BIT_IZQUIERDA : 0)
+                | (entrada.derecha() ? BIT_DERECHA : 0)
+                | (entrada.lanzar() ? BIT_LANZAR : 0);
+    }
+}
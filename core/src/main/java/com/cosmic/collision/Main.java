@@ -6,8 +6,14 @@ import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Align;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Main
@@ -20,24 +26,45 @@ public class Main extends ApplicationAdapter {
 
     private OrthographicCamera camara;
     private SpriteBatch lote;
-    private ShapeRenderer formas;
+    // Todo lo que se ve en un frame se anota aquí y sale en un solo begin/end (las pantallas de menú aparte)
+    private RenderQueue cola;
 
     // Dos fuentes para aislar escalas
     private BitmapFont fuenteUI;
     private BitmapFont fuenteHUD;
 
-    private com.badlogic.gdx.graphics.Texture texturaFondo;
-    private com.badlogic.gdx.graphics.Texture texturaPaleta;
-    private com.badlogic.gdx.graphics.Texture texturaAsteroideNormal;
-    private com.badlogic.gdx.graphics.Texture texturaAsteroideDuro2;
-    private com.badlogic.gdx.graphics.Texture texturaAsteroideDuro3;
-    private com.badlogic.gdx.graphics.Texture texturaAsteroideIrrompible;
+    // Todos los sprites salen de un mismo atlas (ver GameAtlas)
+    private GameAtlas atlas;
+    private TextureRegion texturaFondo;
+    private TextureRegion texturaPaleta;
+    private TextureRegion texturaAsteroideNormal;
+    private TextureRegion texturaAsteroideDuro2;
+    private TextureRegion texturaAsteroideDuro3;
+    private TextureRegion texturaAsteroideIrrompible;
+
+    // F9 muestra las llamadas de dibujo del frame anterior (SpriteBatch.totalRenderCalls)
+    private static final int SPRITES_POR_LOTE = 8191;
+    private boolean mostrarLlamadasDibujo;
+    private int llamadasDibujoFrame;
+
+    // Textos de estado que cambian poco: cada uno en su BitmapFontCache y rearmado
+    // solo si cambia lo que muestra o su posición, como los campos del HUD
+    private static final int ETIQUETA_LLAMADAS = 0;
+    private static final int ETIQUETA_PRACTICA = 1;
+    private static final int ETIQUETA_REPETICION = 2;
+    private static final int ETIQUETA_AYUDA_REPETICION = 3;
+    private static final int ETIQUETA_PUNTAJE_FINAL = 4;
+    private final BitmapFontCache[] etiquetas = new BitmapFontCache[5];
+    private final long[] clavesEtiqueta = new long[etiquetas.length];
+    private final float[] etiquetaX = new float[etiquetas.length];
+    private final float[] etiquetaY = new float[etiquetas.length];
+    private final boolean[] etiquetaArmada = new boolean[etiquetas.length];
+    private final StringBuilder textoEtiqueta = new StringBuilder(64);
 
     private GameState estado = GameState.MENU;
     private Dificultad dificultadActual = Dificultad.FACIL;
     private DifficultySettings ajustes;
 
-    private HUD hud;
     private BlockFactory blockFactory;
     private GameWorld mundo;
     private MenuScreen menu;
@@ -47,36 +74,82 @@ public class Main extends ApplicationAdapter {
 
     private final long duracionBonificacionVida = 1500;
 
+    // Simulación a paso fijo: el mundo avanza en ticks de 1/120 s sin importar los FPS.
+    // Cada mundo lleva su GameClock: convierte el delta del frame en ticks y aplica pausa y escala.
+    private static final float FRECUENCIA_TICK_HZ = 120f;
+
+    // Grabación de la partida en curso y reproducción de la última (en el directorio del usuario)
+    private static final String ARCHIVO_GRABACION = ".cosmic-collision/replays/ultima.ccr";
+    private static final int[] VELOCIDADES_REPETICION = { 1, 2, 5, 10, 25, 50, 100 };
+    private ReplayRecorder grabacion;
+    // Se suelta al terminar o al salir: guarda la copia del archivo
+    private ReplayPlayer repeticion;
+    private long tickDesincronizadoRepeticion = -1;
+    private GameWorld mundoRepeticion;
+    private final ReplayInput entradaRepeticion = new ReplayInput();
+    private int indiceVelocidadRepeticion;
+
+    // Partida guardada al salir a mitad de juego; CONTINUAR en el menú la retoma
+    private static final String ARCHIVO_PARTIDA = ".cosmic-collision/partida.sav";
+    private final WorldSnapshot snapshot = new WorldSnapshot();
+
+    // Modo práctica: mantener R rebobina hasta los últimos 10 s (no se graba repetición)
+    private static final float SEGUNDOS_REBOBINADO = 10f;
+    private static final int VELOCIDAD_REBOBINADO = 2;
+    private final RewindBuffer rebobinado = new RewindBuffer(SEGUNDOS_REBOBINADO, FRECUENCIA_TICK_HZ);
+    // T alterna la cámara lenta en práctica
+    private static final float[] ESCALAS_PRACTICA = { 1f, 0.5f, 0.25f };
+    private int indiceEscalaPractica;
+    private boolean modoPractica;
+
+    // Demo detrás del menú: una partida en MEDIA jugada por el piloto automático
+    private static final float OSCURECER_DEMO = 0.6f;
+    private final AutopilotInput pilotoDemo = new AutopilotInput();
+    private GameWorld mundoDemo;
+
     @Override
     public void create() {
         camara = new OrthographicCamera();
         camara.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
-        lote = new SpriteBatch();
-        formas = new ShapeRenderer();
+        // Lote grande: en multibola miles de bolas caben en una sola llamada
+        lote = new SpriteBatch(SPRITES_POR_LOTE);
 
-        // Inicializa dos fuentes independientes
-        fuenteUI = new BitmapFont();
+        // Carga y empaqueta los sprites vía ResourceManager (singleton)
+        ResourceManager rm = ResourceManager.getInstance();
+        atlas = rm.getAtlas();
+        texturaFondo = atlas.region(GameAtlas.FONDO);
+        texturaPaleta = atlas.region(GameAtlas.PALETA);
+        texturaAsteroideNormal = atlas.region(GameAtlas.ASTEROIDE_NORMAL);
+        texturaAsteroideDuro2 = atlas.region(GameAtlas.ASTEROIDE_DURO2);
+        texturaAsteroideDuro3 = atlas.region(GameAtlas.ASTEROIDE_DURO3);
+        texturaAsteroideIrrompible = atlas.region(GameAtlas.ASTEROIDE_IRROMPIBLE);
+        cola = new RenderQueue(lote, atlas);
+
+        // Inicializa dos fuentes independientes (la página de glifos también está en el atlas)
+        fuenteUI = atlas.nuevaFuente();
         fuenteUI.getData().setScale(2.0f);
+        for (int i = 0; i < etiquetas.length; i++) etiquetas[i] = new BitmapFontCache(fuenteUI, fuenteUI.usesIntegerPositions());
 
-        fuenteHUD = new BitmapFont();
+        fuenteHUD = atlas.nuevaFuente();
         fuenteHUD.getData().setScale(2.0f);
 
-        // Carga texturas vía ResourceManager (singleton)
-        ResourceManager rm = ResourceManager.getInstance();
-        texturaFondo = rm.getTexture("fondo", "espacio.jpg");
-        texturaPaleta = rm.getTexture("paleta", "nave.png");
-        texturaAsteroideNormal = rm.getTexture("ast_normal", "AsteroideE.png");
-        texturaAsteroideDuro2 = rm.getTexture("ast_duro2", "AsteroideM.png");
-        texturaAsteroideDuro3 = rm.getTexture("ast_duro3", "AsteroideH.png");
-        texturaAsteroideIrrompible = rm.getTexture("ast_unb", "AsteroideI.png");
-
         ajustes = new DifficultySettings(dificultadActual);
-        hud = new HUD(fuenteHUD);
 
         // Usar fábrica concreta pasando texturas ya cargadas (evita duplicar cargas)
         blockFactory = new DefaultBlockFactory(texturaAsteroideNormal, texturaAsteroideDuro2, texturaAsteroideDuro3, texturaAsteroideIrrompible);
 
-        mundo = new GameWorld(blockFactory, hud, ajustes, duracionBonificacionVida, texturaPaleta);
+        // Un HUD por mundo: sus cachés recuerdan los valores de un solo mundo
+        mundo = new GameWorld(blockFactory, new HUD(fuenteHUD), ajustes, duracionBonificacionVida, texturaPaleta,
+                new WorldContext(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), InputSource.TECLADO));
+        mundo.setFrecuenciaTick(FRECUENCIA_TICK_HZ);
+        mundo.setParticulas(new ParticleSystem(ParticleSystem.CAPACIDAD_POR_DEFECTO, System.nanoTime()));
+
+        mundoDemo = new GameWorld(blockFactory, new HUD(fuenteHUD), new DifficultySettings(Dificultad.MEDIA),
+                duracionBonificacionVida, texturaPaleta,
+                new WorldContext(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), pilotoDemo));
+        mundoDemo.setFrecuenciaTick(FRECUENCIA_TICK_HZ);
+        mundoDemo.setParticulas(new ParticleSystem(ParticleSystem.CAPACIDAD_POR_DEFECTO, System.nanoTime()));
+        pilotoDemo.setMundo(mundoDemo);
 
         // Crear pantallas que extienden AbstractScreen (reciben lote como SpriteBatch)
         menu = new MenuScreen(lote, fuenteUI, new MenuScreen.Listener() {
@@ -84,9 +157,32 @@ public class Main extends ApplicationAdapter {
                 dificultadActual = d;
                 ajustes = new DifficultySettings(dificultadActual);
                 mundo.aplicarDificultad(ajustes);
-                mundo.iniciarJuego();
+                mundo.setModoEstres(false);
+                mundo.setFaseParalela(false);
+                modoPractica = false;
+                empezarPartida();
+                estado = GameState.JUGANDO;
+            }
+            @Override public void onModoEstres() {
+                dificultadActual = Dificultad.MEDIA;
+                ajustes = new DifficultySettings(dificultadActual);
+                mundo.aplicarDificultad(ajustes);
+                mundo.setModoEstres(true);
+                mundo.setFaseParalela(true);
+                modoPractica = false;
+                empezarPartida();
                 estado = GameState.JUGANDO;
             }
+            @Override public void onPractica() {
+                ajustes = new DifficultySettings(dificultadActual);
+                mundo.aplicarDificultad(ajustes);
+                mundo.setModoEstres(false);
+                mundo.setFaseParalela(false);
+                modoPractica = true;
+                empezarPartida();
+                estado = GameState.JUGANDO;
+            }
+            @Override public void onContinuar() { continuarPartida(); }
             @Override public void onTutorial() { estado = GameState.TUTORIAL; }
             @Override public void onCreditos() {
                 creditos.reiniciar(camara.viewportWidth, camara.viewportHeight);
@@ -95,10 +191,15 @@ public class Main extends ApplicationAdapter {
         });
 
         pausa = new PauseOverlay(fuenteUI, new PauseOverlay.Listener() {
-            @Override public void onReanudar() { estado = GameState.JUGANDO; }
-            @Override public void onReiniciarNivel() { mundo.reiniciarNivel(); estado = GameState.JUGANDO; }
-            @Override public void onMenuPrincipal() { estado = GameState.MENU; }
-            @Override public void onSalir() { Gdx.app.exit(); }
+            @Override public void onReanudar() { mundo.getReloj().setPausado(false); estado = GameState.JUGANDO; }
+            @Override public void onReiniciarNivel() {
+                mundo.reiniciarNivel();
+                mundo.getReloj().descartarAtraso();
+                mundo.getReloj().setPausado(false);
+                estado = GameState.JUGANDO;
+            }
+            @Override public void onMenuPrincipal() { guardarPartida(); estado = GameState.MENU; }
+            @Override public void onSalir() { guardarPartida(); Gdx.app.exit(); }
         });
 
         tutorial = new TutorialScreen(lote, fuenteUI, () -> estado = GameState.MENU);
@@ -112,23 +213,43 @@ public class Main extends ApplicationAdapter {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         camara.update();
         lote.setProjectionMatrix(camara.combined);
-        formas.setProjectionMatrix(camara.combined);
+        int llamadasAntes = lote.totalRenderCalls;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F9)) mostrarLlamadasDibujo = !mostrarLlamadasDibujo;
 
         switch (estado) {
             case MENU:
+                dibujarFondo();
+                dibujarDemo(delta);
+                cola.enviar();
                 // AbstractScreen: render(delta) invoca onUpdate/onDraw internamente
                 menu.render(delta);
                 break;
 
             case JUGANDO:
                 if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
+                    mundo.getReloj().setPausado(true);
                     estado = GameState.PAUSADO;
                     break;
                 }
+                if (modoPractica && Gdx.input.isKeyJustPressed(Input.Keys.T)) {
+                    indiceEscalaPractica = (indiceEscalaPractica + 1) % ESCALAS_PRACTICA.length;
+                    mundo.getReloj().setEscala(ESCALAS_PRACTICA[indiceEscalaPractica]);
+                }
                 dibujarFondo();
-                mundo.actualizar();
-                mundo.dibujar(lote, formas, camara.viewportWidth, camara.viewportHeight);
+                int ticks = mundo.getReloj().avanzar(delta);
+                if (modoPractica && Gdx.input.isKeyPressed(Input.Keys.R)) {
+                    rebobinado.retroceder(ticks * VELOCIDAD_REBOBINADO, mundo);
+                } else {
+                    for (int i = 0; i < ticks && mundo.getVidas() > 0; i++) {
+                        mundo.actualizar();
+                        if (modoPractica) rebobinado.capturar(mundo);
+                    }
+                }
+                mundo.dibujar(cola, camara.viewportWidth, camara.viewportHeight, mundo.getReloj().alfa());
+                if (modoPractica) dibujarEstadoPractica();
                 if (mundo.getVidas() <= 0) {
+                    terminarGrabacion();
+                    Gdx.files.external(ARCHIVO_PARTIDA).delete();
                     estado = GameState.FIN_DE_JUEGO;
                 }
                 break;
@@ -136,18 +257,20 @@ public class Main extends ApplicationAdapter {
             case PAUSADO:
                 dibujarFondo();
                 // Dibujar estado actual sin actualizar
-                mundo.dibujar(lote, formas, camara.viewportWidth, camara.viewportHeight);
-                pausa.render(lote, formas, camara.viewportWidth, camara.viewportHeight);
+                mundo.dibujar(cola, camara.viewportWidth, camara.viewportHeight, mundo.getReloj().alfa());
+                pausa.render(cola, camara.viewportWidth, camara.viewportHeight);
                 pausa.handleInput();
                 break;
 
             case TUTORIAL:
                 dibujarFondo();
+                cola.enviar();
                 tutorial.render(delta);
                 break;
 
             case CREDITOS:
                 dibujarFondo();
+                cola.enviar();
                 creditos.render(delta);
                 break;
 
@@ -159,64 +282,267 @@ public class Main extends ApplicationAdapter {
                     ajustes = new DifficultySettings(dificultadActual);
                     mundo.aplicarDificultad(ajustes);
                     mundo.iniciarJuego();
+                } else if (Gdx.input.isKeyJustPressed(Input.Keys.R)) {
+                    iniciarRepeticion();
                 }
                 break;
+
+            case REPETICION:
+                if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE) || Gdx.input.isKeyJustPressed(Input.Keys.ENTER)) {
+                    repeticion = null;
+                    estado = GameState.MENU;
+                    break;
+                }
+                if (Gdx.input.isKeyJustPressed(Input.Keys.UP)) {
+                    indiceVelocidadRepeticion = Math.min(VELOCIDADES_REPETICION.length - 1, indiceVelocidadRepeticion + 1);
+                }
+                if (Gdx.input.isKeyJustPressed(Input.Keys.DOWN)) {
+                    indiceVelocidadRepeticion = Math.max(0, indiceVelocidadRepeticion - 1);
+                }
+                dibujarFondo();
+                GameClock relojRepeticion = mundoRepeticion.getReloj();
+                relojRepeticion.setEscala(VELOCIDADES_REPETICION[indiceVelocidadRepeticion]);
+                if (repeticion != null) {
+                    try {
+                        repeticion.avanzar(relojRepeticion.avanzar(delta));
+                    } catch (IllegalStateException e) {
+                        Gdx.app.error("Replay", "grabación dañada", e);
+                        repeticion = null;
+                        estado = GameState.MENU;
+                        break;
+                    }
+                    tickDesincronizadoRepeticion = repeticion.getTickDesincronizado();
+                    // Terminada: queda el último cuadro en pantalla y no hace falta el archivo
+                    if (repeticion.isTerminada()) repeticion = null;
+                }
+                mundoRepeticion.dibujar(cola, camara.viewportWidth, camara.viewportHeight, relojRepeticion.alfa());
+                dibujarEstadoRepeticion();
+                break;
         }
+
+        // El contador muestra el frame anterior: así cuenta también su propio texto
+        if (mostrarLlamadasDibujo) dibujarLlamadasDibujo();
+        cola.enviar();
+        llamadasDibujoFrame = lote.totalRenderCalls - llamadasAntes;
     }
 
-    private void dibujarFondo() {
-        lote.begin();
-        lote.setColor(1f,1f,1f,1f);
-        if (texturaFondo != null) {
-            lote.draw(texturaFondo, 0, 0, camara.viewportWidth, camara.viewportHeight);
+    private void dibujarLlamadasDibujo() {
+        etiqueta(ETIQUETA_LLAMADAS, llamadasDibujoFrame, camara.viewportWidth - 360, camara.viewportHeight - 10);
+    }
+
+    /**
+     * Anota una etiqueta de estado; la rearma solo si cambió su clave (lo que
+     * muestra, empaquetado en un long) o su posición.
+     */
+    private void etiqueta(int i, long clave, float x, float y) {
+        if (!etiquetaArmada[i] || clavesEtiqueta[i] != clave || etiquetaX[i] != x || etiquetaY[i] != y) {
+            textoEtiqueta.setLength(0);
+            escribirEtiqueta(i, clave, textoEtiqueta);
+            etiquetas[i].setText(textoEtiqueta, x, y);
+            clavesEtiqueta[i] = clave;
+            etiquetaX[i] = x;
+            etiquetaY[i] = y;
+            etiquetaArmada[i] = true;
         }
-        lote.end();
+        cola.texto(etiquetas[i]);
     }
 
-    private void dibujarPantallaFinDeJuego() {
-        // Overlay
-        formas.begin(ShapeRenderer.ShapeType.Filled);
-        formas.setColor(0, 0, 0, 0.75f);
-        formas.rect(0, 0, camara.viewportWidth, camara.viewportHeight);
-        formas.end();
+    /**
+     * Como etiqueta(), pero centrada en [0, ancho] y maquetada con otra escala de
+     * fuenteUI, que queda como estaba.
+     */
+    private void etiquetaCentrada(int i, long clave, float ancho, float y, float escala) {
+        if (!etiquetaArmada[i] || clavesEtiqueta[i] != clave || etiquetaX[i] != ancho || etiquetaY[i] != y) {
+            textoEtiqueta.setLength(0);
+            escribirEtiqueta(i, clave, textoEtiqueta);
+            BitmapFont.BitmapFontData data = fuenteUI.getData();
+            float escalaX = data.scaleX, escalaY = data.scaleY;
+            data.setScale(escala);
+            etiquetas[i].setText(textoEtiqueta, 0f, y, ancho, Align.center, false);
+            data.setScale(escalaX, escalaY);
+            clavesEtiqueta[i] = clave;
+            etiquetaX[i] = ancho;
+            etiquetaY[i] = y;
+            etiquetaArmada[i] = true;
+        }
+        cola.texto(etiquetas[i]);
+    }
 
-        // Guardar escala actual y restaurar al final
-        float oldX = fuenteUI.getData().scaleX, oldY = fuenteUI.getData().scaleY;
+    private void escribirEtiqueta(int i, long clave, StringBuilder sb) {
+        switch (i) {
+            case ETIQUETA_LLAMADAS:
+                sb.append("llamadas de dibujo: ").append(clave);
+                break;
+            case ETIQUETA_PRACTICA:
+                sb.append("PRÁCTICA - R rebobinar (");
+                agregarDecimal(sb, (int) (clave >>> 32), 1);
+                sb.append(" s), T cámara lenta (x");
+                agregarDecimal(sb, (int) clave, 2);
+                sb.append(')');
+                break;
+            case ETIQUETA_REPETICION:
+                sb.append("REPETICIÓN x").append(VELOCIDADES_REPETICION[(int) (clave & 0xFF)]);
+                if ((clave & 0x100) != 0) sb.append(" - FIN");
+                if ((clave >> 9) > 0) sb.append(" - DESINCRONIZADA en tick ").append((clave >> 9) - 1);
+                break;
+            case ETIQUETA_AYUDA_REPETICION:
+                sb.append("ARRIBA/ABAJO velocidad, ESC salir");
+                break;
+            case ETIQUETA_PUNTAJE_FINAL:
+                sb.append("Puntuación final: ").append(clave);
+                break;
+        }
+    }
 
-        lote.begin();
-        lote.setColor(1f,1f,1f,1f);
+    /** Escribe valor / 10^decimales con punto decimal, sin String.format. */
+    private static void agregarDecimal(StringBuilder sb, int valor, int decimales) {
+        int divisor = 1;
+        for (int d = 0; d < decimales; d++) divisor *= 10;
+        sb.append(valor / divisor).append('.');
+        int resto = valor % divisor;
+        for (int d = divisor / 10; d > 1 && resto < d; d /= 10) sb.append('0');
+        sb.append(resto);
+    }
 
-        fuenteUI.getData().setScale(4.0f);
-        String titulo = "¡FIN DEL JUEGO! :(";
-        String puntuacion = "Puntuación final: " + mundo.getPuntaje();
-        String pista = "Presiona ENTER para volver al menú...";
+    /** Nueva partida desde el tick 0, grabada en ARCHIVO_GRABACION (salvo en práctica). */
+    private void empezarPartida() {
+        terminarGrabacion();
+        mundo.iniciarJuego();
+        mundo.getReloj().setPausado(false);
+        indiceEscalaPractica = 0;
+        mundo.getReloj().setEscala(ESCALAS_PRACTICA[0]);
+        rebobinado.limpiar();
+        if (modoPractica) {
+            rebobinado.capturar(mundo);
+            return;
+        }
+        try {
+            Path archivo = Gdx.files.external(ARCHIVO_GRABACION).file().toPath();
+            Files.createDirectories(archivo.getParent());
+            grabacion = ReplayRecorder.abrir(archivo, mundo, ReplayRecorder.INTERVALO_HASH_POR_DEFECTO);
+            mundo.setGrabacion(grabacion);
+        } catch (IOException e) {
+            Gdx.app.error("Replay", "no se pudo grabar la partida", e);
+        }
+    }
 
-        float anchoMundo = camara.viewportWidth;
-        float y = camara.viewportHeight / 2f + 100;
+    /** Guarda la partida en curso para retomarla desde el menú. */
+    private void guardarPartida() {
+        terminarGrabacion();
+        try {
+            Path archivo = Gdx.files.external(ARCHIVO_PARTIDA).file().toPath();
+            Files.createDirectories(archivo.getParent());
+            snapshot.guardarEnArchivo(mundo, archivo);
+        } catch (IOException e) {
+            Gdx.app.error("Partida", "no se pudo guardar la partida", e);
+        }
+    }
 
-        com.badlogic.gdx.graphics.g2d.GlyphLayout gl = new com.badlogic.gdx.graphics.g2d.GlyphLayout();
-        gl.setText(fuenteUI, titulo);
-        fuenteUI.draw(lote, titulo, (anchoMundo - gl.width)/2f, y);
-        y -= 80;
+    /** Retoma la partida guardada en pausa. Una partida retomada no se graba. */
+    private void continuarPartida() {
+        if (!Gdx.files.external(ARCHIVO_PARTIDA).exists()) return;
+        terminarGrabacion();
+        try {
+            snapshot.cargarDeArchivo(Gdx.files.external(ARCHIVO_PARTIDA).file().toPath(), mundo);
+        } catch (IOException | IllegalArgumentException e) {
+            Gdx.app.error("Partida", "no se pudo cargar la partida guardada", e);
+            return;
+        }
+        ajustes = mundo.getSettings();
+        dificultadActual = ajustes.dificultad;
+        modoPractica = false;
+        mundo.getReloj().setEscala(1f);
+        mundo.getReloj().setPausado(true);
+        mundo.getReloj().descartarAtraso();
+        estado = GameState.PAUSADO;
+    }
 
-        fuenteUI.getData().setScale(2.5f);
-        gl.setText(fuenteUI, puntuacion);
-        fuenteUI.draw(lote, puntuacion, (anchoMundo - gl.width)/2f, y);
-        y -= 120;
+    private void terminarGrabacion() {
+        if (grabacion == null) return;
+        mundo.setGrabacion(null);
+        try {
+            grabacion.cerrar();
+        } catch (IOException e) {
+            Gdx.app.error("Replay", "no se pudo cerrar la grabación", e);
+        }
+        grabacion = null;
+    }
+
+    /** Vuelve a simular la última partida grabada en un mundo aparte. */
+    private void iniciarRepeticion() {
+        terminarGrabacion();
+        try {
+            repeticion = ReplayPlayer.abrir(Gdx.files.external(ARCHIVO_GRABACION).file().toPath());
+        } catch (IOException | IllegalArgumentException e) {
+            Gdx.app.error("Replay", "no se pudo abrir la grabación", e);
+            return;
+        }
+        if (mundoRepeticion == null) {
+            mundoRepeticion = new GameWorld(blockFactory, new HUD(fuenteHUD), new DifficultySettings(repeticion.getDificultad()),
+                    duracionBonificacionVida, texturaPaleta,
+                    new WorldContext(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), entradaRepeticion));
+            mundoRepeticion.setParticulas(new ParticleSystem(ParticleSystem.CAPACIDAD_POR_DEFECTO, System.nanoTime()));
+        }
+        repeticion.preparar(mundoRepeticion, entradaRepeticion);
+        tickDesincronizadoRepeticion = -1;
+        mundoRepeticion.getReloj().descartarAtraso();
+        indiceVelocidadRepeticion = 0;
+        estado = GameState.REPETICION;
+    }
+
+    /** Avanza y dibuja la demo del menú, oscurecida para que el texto se lea; al perder, empieza otra. */
+    private void dibujarDemo(float delta) {
+        GameClock relojDemo = mundoDemo.getReloj();
+        int ticks = relojDemo.avanzar(delta);
+        for (int i = 0; i < ticks; i++) {
+            mundoDemo.actualizar();
+            if (mundoDemo.getVidas() <= 0) {
+                mundoDemo.iniciarJuego();
+                break;
+            }
+        }
+        mundoDemo.dibujar(cola, camara.viewportWidth, camara.viewportHeight, relojDemo.alfa());
+        cola.rect(0, 0, camara.viewportWidth, camara.viewportHeight, 0, 0, 0, OSCURECER_DEMO);
+    }
 
-        fuenteUI.getData().setScale(1.5f);
-        gl.setText(fuenteUI, pista);
-        fuenteUI.draw(lote, pista, (anchoMundo - gl.width)/2f, y);
-        lote.end();
+    private void dibujarEstadoRepeticion() {
+        long clave = indiceVelocidadRepeticion | (repeticion == null ? 0x100 : 0) | ((tickDesincronizadoRepeticion + 1) << 9);
+        etiqueta(ETIQUETA_REPETICION, clave, 10, camara.viewportHeight - 10);
+        etiqueta(ETIQUETA_AYUDA_REPETICION, 0, 10, camara.viewportHeight - 50);
+    }
+
+    private void dibujarEstadoPractica() {
+        // Décimas de segundo y centésimas de escala: lo que se ve con 1 y 2 decimales
+        long decimas = Math.round(rebobinado.getTicksDisponibles() * 10 / FRECUENCIA_TICK_HZ);
+        long centesimas = Math.round(mundo.getReloj().getEscala() * 100);
+        etiqueta(ETIQUETA_PRACTICA, (decimas << 32) | centesimas, 10, camara.viewportHeight - 10);
+    }
 
-        // Restaurar escala
-        fuenteUI.getData().setScale(oldX, oldY);
+    private void dibujarFondo() {
+        cola.sprite(texturaFondo, 0, 0, camara.viewportWidth, camara.viewportHeight);
+    }
+
+    private void dibujarPantallaFinDeJuego() {
+        float anchoMundo = camara.viewportWidth;
+        cola.rect(0, 0, anchoMundo, camara.viewportHeight, 0, 0, 0, 0.75f);
+
+        // Cada texto lleva su escala; la cola deja la de fuenteUI como estaba
+        float y = camara.viewportHeight / 2f + 100;
+        cola.textoCentrado(fuenteUI, "¡FIN DEL JUEGO! :(", anchoMundo, y, 4.0f);
+        y -= 80;
+        etiquetaCentrada(ETIQUETA_PUNTAJE_FINAL, mundo.getPuntaje(), anchoMundo, y, 2.5f);
+        y -= 120;
+        cola.textoCentrado(fuenteUI, "Presiona ENTER para volver al menú... (R: ver repetición)", anchoMundo, y, 1.5f);
     }
 
     @Override
     public void dispose() {
+        if (estado == GameState.JUGANDO || estado == GameState.PAUSADO) guardarPartida();
+        terminarGrabacion();
+        mundo.dispose();
+        mundoDemo.dispose();
+        if (mundoRepeticion != null) mundoRepeticion.dispose();
         lote.dispose();
-        formas.dispose();
         fuenteUI.dispose();
         fuenteHUD.dispose();
         // Dispose centralizado del ResourceManager
@@ -15,6 +15,9 @@ public class MenuScreen extends AbstractScreen {
         void onElegirDificultad(Dificultad d);
         void onTutorial();
         void onCreditos();
+        void onModoEstres();
+        void onContinuar();
+        void onPractica();
     }
 
     private final BitmapFont fuente;
@@ -34,6 +37,9 @@ public class MenuScreen extends AbstractScreen {
         else if (just(Input.Keys.NUM_3) || just(Input.Keys.F3)) listener.onElegirDificultad(Dificultad.DIFICIL);
         else if (just(Input.Keys.NUM_4) || just(Input.Keys.F4)) listener.onTutorial();
         else if (just(Input.Keys.NUM_5) || just(Input.Keys.F5)) listener.onCreditos();
+        else if (just(Input.Keys.NUM_6) || just(Input.Keys.F6)) listener.onModoEstres();
+        else if (just(Input.Keys.NUM_7) || just(Input.Keys.F7)) listener.onContinuar();
+        else if (just(Input.Keys.NUM_8) || just(Input.Keys.F8)) listener.onPractica();
     }
 
     @Override
@@ -51,6 +57,9 @@ public class MenuScreen extends AbstractScreen {
         drawCentered(batch, "3 (F3) - DIFÍCIL | Más bloques, duros e irrompibles", Gdx.graphics.getWidth(), Gdx.graphics.getHeight() - 252);
         drawCentered(batch, "4 (F4) - TUTORIAL | Ver controles e instrucciones", Gdx.graphics.getWidth(), Gdx.graphics.getHeight() - 300);
         drawCentered(batch, "5 (F5) - CRÉDITOS | Ver información del desarrollo", Gdx.graphics.getWidth(), Gdx.graphics.getHeight() - 348);
+        drawCentered(batch, "6 (F6) - MULTIBOLA | Prueba de estrés con miles de bolas", Gdx.graphics.getWidth(), Gdx.graphics.getHeight() - 396);
+        drawCentered(batch, "7 (F7) - CONTINUAR | Retomar la partida guardada", Gdx.graphics.getWidth(), Gdx.graphics.getHeight() - 444);
+        drawCentered(batch, "8 (F8) - PRÁCTICA | Última dificultad, mantén R para rebobinar", Gdx.graphics.getWidth(), Gdx.graphics.getHeight() - 492);
         drawCentered(batch, "Controles: IZQ/DER, ESPACIO lanzar, ESC pausa", Gdx.graphics.getWidth(), 80);
         batch.end();
 
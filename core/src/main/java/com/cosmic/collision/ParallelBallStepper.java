@@ -0,0 +1,121 @@
+package com.cosmic.collision;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fase de bolas en paralelo: reparte las bolas en tramos contiguos de tamaño
+ * fijo y avanza cada tramo en el pool de fork-join con su propio BallStepper y
+ * su propio HitBuffer. Durante la fase el campo y la paleta solo se leen y cada
+ * bola solo se escribe a sí misma, así que los tramos no comparten estado.
+ * Al terminar, los buffers se concatenan en orden de tramo: los eventos quedan
+ * en el mismo orden que en el recorrido secuencial y el resultado es idéntico
+ * bit a bit, sin importar cuántos hilos haya.
+ */
+public class ParallelBallStepper {
+
+    public static final int BOLAS_POR_TRAMO = 256;
+
+    private final ForkJoinPool pool;
+    private final int bolasPorTramo;
+    private Tramo[] tramos = new Tramo[0];
+    private int tramosActivos;
+    private final Raiz raiz = new Raiz();
+
+    // Parámetros del tick en curso; se publican a los tramos al hacer fork
+    private BallSystem bolas;
+    private float escala;
+    private BroadPhase indice;
+    private BlockField campo;
+    private Plataforma paleta;
+    private float anchoMundo;
+    private float altoMundo;
+    private int tick;
+
+    public ParallelBallStepper() {
+        this(ForkJoinPool.commonPool(), BOLAS_POR_TRAMO);
+    }
+
+    public ParallelBallStepper(ForkJoinPool pool, int bolasPorTramo) {
+        this.pool = pool;
+        this.bolasPorTramo = Math.max(1, bolasPorTramo);
+    }
+
+    /**
+     * Avanza todas las bolas no quietas y agrega sus impactos con bloques a salida,
+     * en orden de índice de bola.
+     */
+    public void avanzar(BallSystem bolas, float escala, BroadPhase indice, BlockField campo, Plataforma paleta,
+                        float anchoMundo, float altoMundo, int tick, HitBuffer salida) {
+        this.bolas = bolas;
+        this.escala = escala;
+        this.indice = indice;
+        this.campo = campo;
+        this.paleta = paleta;
+        this.anchoMundo = anchoMundo;
+        this.altoMundo = altoMundo;
+        this.tick = tick;
+
+        int n = bolas.size();
+        tramosActivos = (n + bolasPorTramo - 1) / bolasPorTramo;
+        if (tramos.length < tramosActivos) {
+            int viejo = tramos.length;
+            tramos = Arrays.copyOf(tramos, tramosActivos);
+            for (int t = viejo; t < tramosActivos; t++) tramos[t] = new Tramo();
+        }
+        for (int t = 0; t < tramosActivos; t++) {
+            Tramo tr = tramos[t];
+            tr.desde = t * bolasPorTramo;
+            tr.hasta = Math.min(n, tr.desde + bolasPorTramo);
+            tr.reinitialize();
+        }
+        raiz.reinitialize();
+        pool.invoke(raiz);
+
+        for (int t = 0; t < tramosActivos; t++) salida.agregarTodos(tramos[t].impactos);
+        this.bolas = null;
+        this.paleta = null;
+    }
+
+    /**
+     * Tarea raíz reutilizable: hace fork de todos los tramos menos el último, ejecuta
+     * ése en el hilo actual y espera al resto (los que nadie robó se ejecutan aquí).
+     */
+    private final class Raiz extends RecursiveAction {
+        @Override
+        protected void compute() {
+            if (tramosActivos == 0) return;
+            for (int t = 0; t < tramosActivos - 1; t++) tramos[t].fork();
+            tramos[tramosActivos - 1].compute();
+            for (int t = tramosActivos - 2; t >= 0; t--) tramos[t].join();
+        }
+    }
+
+    /** Un rango contiguo de bolas con su espacio de trabajo propio. */
+    private final class Tramo extends RecursiveAction implements BallStepper.Listener {
+        final BallStepper stepper = new BallStepper();
+        final HitBuffer impactos = new HitBuffer();
+        int desde;
+        int hasta;
+
+        @Override
+        protected void compute() {
+            impactos.limpiar();
+            for (int i = desde; i < hasta; i++) {
+                if (bolas.estaQuieta(i)) continue;
+                stepper.avanzar(bolas, i, escala, indice, campo, paleta, anchoMundo, altoMundo, this);
+            }
+        }
+
+        @Override
+        public void alImpactarBloque(int bola, int celda) {
+            impactos.registrar(bola, celda, tick);
+        }
+
+        @Override
+        public void alImpactarPaleta(int bola) {
+            bolas.alChocarConPaleta(bola, paleta);
+        }
+    }
+}
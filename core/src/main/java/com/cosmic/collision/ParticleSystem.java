@@ -0,0 +1,209 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/**
+ * Partículas visuales (escombros de asteroides y onda de la bola explosiva) en
+ * arreglos paralelos de capacidad fija, como BallSystem: emitir y expirar son
+ * O(1) (una partícula que se apaga se recicla con swap-remove) y no se asigna
+ * memoria después del constructor. Se dibujan como círculos teñidos en la cola
+ * del frame, en el mismo lote que las bolas.
+ *
+ * La capacidad es un presupuesto duro. Pasada la mitad, cada emisión se reduce
+ * en proporción al espacio libre, así un efecto sigue viéndose (con menos
+ * partículas) en vez de cortarse de golpe; con el sistema lleno, lo que no entra
+ * se descarta y se cuenta.
+ *
+ * No es parte del estado de la partida: usa su propio generador y no entra en
+ * snapshots ni en la repetición. Avanza por tick junto con el mundo, así que se
+ * congela en pausa y sigue la escala del reloj. Velocidades en px por tick.
+ */
+public final class ParticleSystem {
+
+    /** Capacidad con la que se mide el presupuesto: 50k partículas vivas a 60 FPS. */
+    public static final int CAPACIDAD_POR_DEFECTO = 50000;
+
+    // Escombros: trozos del asteroide que saltan y caen
+    private static final int ESCOMBROS_POR_BLOQUE = 14;
+    private static final float ESCOMBRO_VEL_MIN = 0.5f;
+    private static final float ESCOMBRO_VEL_MAX = 2.5f;
+    private static final float ESCOMBRO_GRAVEDAD = 0.06f;
+    private static final int ESCOMBRO_VIDA_MIN = 40;
+    private static final int ESCOMBRO_VIDA_MAX = 80;
+    private static final int[] COLORES_ESCOMBRO = {
+            bgr(0.55f, 0.50f, 0.45f), bgr(0.42f, 0.36f, 0.30f), bgr(0.70f, 0.66f, 0.60f) };
+
+    // Explosión: anillo que se frena con el arrastre cerca del radio de la onda
+    private static final int PARTICULAS_POR_EXPLOSION = 48;
+    private static final float EXPLOSION_ARRASTRE = 0.94f;
+    private static final int EXPLOSION_VIDA_MIN = 20;
+    private static final int EXPLOSION_VIDA_MAX = 40;
+    private static final int[] COLORES_EXPLOSION = {
+            bgr(1f, 0.40f, 0f), bgr(1f, 0.65f, 0.1f), bgr(1f, 0.9f, 0.35f) };
+
+    private final int capacidad;
+    private final float[] x;
+    private final float[] y;
+    private final float[] vx;
+    private final float[] vy;
+    private final float[] gravedad;
+    private final float[] arrastre;
+    private final float[] radio;
+    private final int[] vida;
+    private final int[] vidaTotal;
+    private final int[] color;     // BGR empaquetado; el alfa sale de la vida restante
+    private int size;
+    private long descartadas;
+    private int azar;
+
+    public ParticleSystem(int capacidad, long semilla) {
+        this.capacidad = Math.max(1, capacidad);
+        x = new float[this.capacidad];
+        y = new float[this.capacidad];
+        vx = new float[this.capacidad];
+        vy = new float[this.capacidad];
+        gravedad = new float[this.capacidad];
+        arrastre = new float[this.capacidad];
+        radio = new float[this.capacidad];
+        vida = new int[this.capacidad];
+        vidaTotal = new int[this.capacidad];
+        color = new int[this.capacidad];
+        azar = (int) (semilla ^ (semilla >>> 32)) | 1;
+    }
+
+    // ----------------- emisión -----------------
+
+    /** Escombros de un bloque destruido, repartidos en su rectángulo y con impulso hacia arriba. */
+    public void emitirEscombros(float bx, float by, float ancho, float alto) {
+        int n = cupo(ESCOMBROS_POR_BLOQUE);
+        for (int k = 0; k < n; k++) {
+            float angulo = MathUtils.PI * (0.1f + 0.8f * aleatorio()); // entre 18 y 162 grados
+            float vel = ESCOMBRO_VEL_MIN + (ESCOMBRO_VEL_MAX - ESCOMBRO_VEL_MIN) * aleatorio();
+            agregar(bx + ancho * aleatorio(), by + alto * aleatorio(),
+                    MathUtils.cos(angulo) * vel, MathUtils.sin(angulo) * vel - 0.5f,
+                    ESCOMBRO_GRAVEDAD, 1f, 1.5f + 2f * aleatorio(),
+                    vidaEntre(ESCOMBRO_VIDA_MIN, ESCOMBRO_VIDA_MAX),
+                    COLORES_ESCOMBRO[(int) (aleatorio() * COLORES_ESCOMBRO.length)]);
+        }
+    }
+
+    /** Onda de una detonación: partículas en todas direcciones que se detienen cerca de radioOnda. */
+    public void emitirExplosion(float cx, float cy, float radioOnda) {
+        int n = cupo(PARTICULAS_POR_EXPLOSION);
+        // Con arrastre a, la distancia total recorrida es vel / (1 - a)
+        float velMax = radioOnda * (1f - EXPLOSION_ARRASTRE);
+        for (int k = 0; k < n; k++) {
+            float angulo = MathUtils.PI2 * aleatorio();
+            float vel = velMax * (0.5f + 0.5f * aleatorio());
+            agregar(cx, cy, MathUtils.cos(angulo) * vel, MathUtils.sin(angulo) * vel,
+                    0f, EXPLOSION_ARRASTRE, 2f + 3f * aleatorio(),
+                    vidaEntre(EXPLOSION_VIDA_MIN, EXPLOSION_VIDA_MAX),
+                    COLORES_EXPLOSION[(int) (aleatorio() * COLORES_EXPLOSION.length)]);
+        }
+    }
+
+    /**
+     * Cuántas de las pedidas se emiten: todas hasta media capacidad, luego en
+     * proporción al espacio libre; nunca más de lo que cabe.
+     */
+    private int cupo(int pedidas) {
+        int libre = capacidad - size;
+        int mitad = capacidad / 2;
+        int n = libre >= mitad ? pedidas : (int) Math.ceil((double) pedidas * libre / mitad);
+        n = Math.min(n, libre);
+        descartadas += pedidas - n;
+        return n;
+    }
+
+    private void agregar(float px, float py, float pvx, float pvy, float g, float a, float r, int ticks, int bgr) {
+        int i = size++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        gravedad[i] = g;
+        arrastre[i] = a;
+        radio[i] = r;
+        vida[i] = ticks;
+        vidaTotal[i] = ticks;
+        color[i] = bgr;
+    }
+
+    // ----------------- simulación -----------------
+
+    /** Avanza un tick; las que se apagan se reciclan (swap-remove, de atrás hacia adelante). */
+    public void actualizar() {
+        for (int i = size - 1; i >= 0; i--) {
+            if (--vida[i] <= 0) {
+                quitar(i);
+                continue;
+            }
+            float a = arrastre[i];
+            vx[i] *= a;
+            vy[i] = vy[i] * a - gravedad[i];
+            x[i] += vx[i];
+            y[i] += vy[i];
+        }
+    }
+
+    private void quitar(int i) {
+        int u = --size;
+        if (i == u) return;
+        x[i] = x[u];
+        y[i] = y[u];
+        vx[i] = vx[u];
+        vy[i] = vy[u];
+        gravedad[i] = gravedad[u];
+        arrastre[i] = arrastre[u];
+        radio[i] = radio[u];
+        vida[i] = vida[u];
+        vidaTotal[i] = vidaTotal[u];
+        color[i] = color[u];
+    }
+
+    public void limpiar() { size = 0; }
+
+    // ----------------- dibujo -----------------
+
+    /**
+     * Anota las partículas en la cola. El movimiento de un tick es casi recto, así
+     * que la posición entre ticks se toma retrocediendo la velocidad (sin guardar la
+     * posición previa). Se desvanecen con la vida que les queda.
+     */
+    public void dibujar(RenderQueue cola, float alfa) {
+        float atras = 1f - alfa;
+        for (int i = 0; i < size; i++) {
+            int a = vida[i] * 255 / vidaTotal[i];
+            float c = NumberUtils.intToFloatColor((a << 24) | color[i]);
+            cola.circulo(x[i] - vx[i] * atras, y[i] - vy[i] * atras, radio[i], c);
+        }
+    }
+
+    // ----------------- consultas -----------------
+
+    public int getVivas() { return size; }
+    public int getCapacidad() { return capacidad; }
+    /** Partículas pedidas que no se emitieron por el presupuesto (desde que se creó). */
+    public long getDescartadas() { return descartadas; }
+
+    // ----------------- utilidades -----------------
+
+    /** Xorshift de 32 bits: rápido, sin asignar y ajeno a los generadores de la partida. */
+    private float aleatorio() {
+        int s = azar;
+        s ^= s << 13;
+        s ^= s >>> 17;
+        s ^= s << 5;
+        azar = s;
+        return (s >>> 8) * 0x1p-24f;
+    }
+
+    private int vidaEntre(int min, int max) {
+        return min + (int) ((max - min + 1) * aleatorio());
+    }
+
+    private static int bgr(float r, float g, float b) {
+        return ((int) (255 * b) << 16) | ((int) (255 * g) << 8) | (int) (255 * r);
+    }
+}
@@ -3,12 +3,10 @@ package com.cosmic.collision;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 
 /**
- * Overlay de pausa con save/restore de escala para evitar efectos colaterales.
+ * Overlay de pausa. Se anota en la cola de dibujo del frame con su propia escala
+ * de fuente (la cola la restaura), sin efectos colaterales sobre la fuente.
  */
 public class PauseOverlay {
 
@@ -21,8 +19,8 @@ public class PauseOverlay {
 
     private final String[] opciones = { "Reanudar", "Reiniciar Nivel", "Menú Principal", "Salir" };
     private int seleccion = 0;
+    private static final float ESCALA_FUENTE = 2.0f;
     private final BitmapFont fuente;
-    private final GlyphLayout layout = new GlyphLayout();
     private final Listener listener;
 
     public PauseOverlay(BitmapFont fuente, Listener listener) {
@@ -30,37 +28,21 @@ public class PauseOverlay {
         this.listener = listener;
     }
 
-    public void render(SpriteBatch batch, ShapeRenderer shapes, float ancho, float alto) {
-        shapes.begin(ShapeRenderer.ShapeType.Filled);
-        shapes.setColor(0, 0, 0, 0.55f);
-        shapes.rect(0, 0, ancho, alto);
-        shapes.end();
+    public void render(RenderQueue cola, float ancho, float alto) {
+        cola.rect(0, 0, ancho, alto, 0, 0, 0, 0.55f);
 
-        float oldX = fuente.getData().scaleX, oldY = fuente.getData().scaleY;
-        fuente.getData().setScale(2.0f);
-
-        batch.begin();
-        batch.setColor(1f,1f,1f,1f);
-
-        layout.setText(fuente, "PAUSA");
-        fuente.draw(batch, "PAUSA", (ancho - layout.width) / 2f, alto - 120);
+        cola.textoCentrado(fuente, "PAUSA", ancho, alto - 120, ESCALA_FUENTE);
 
         float y = alto - 200;
         float interlineado = 44f;
         for (int i = 0; i < opciones.length; i++) {
             String prefijo = (i == seleccion) ? "> " : "  ";
-            String texto = prefijo + opciones[i];
-            layout.setText(fuente, texto);
-            fuente.draw(batch, texto, (ancho - layout.width) / 2f, y);
+            cola.textoCentrado(fuente, prefijo + opciones[i], ancho, y, ESCALA_FUENTE);
             y -= interlineado;
         }
 
         String pista = "ESC: Reanudar | ENTER: Aceptar | ARRIBA/ABAJO: Navegar";
-        layout.setText(fuente, pista);
-        fuente.draw(batch, pista, (ancho - layout.width) / 2f, 120);
-        batch.end();
-
-        fuente.getData().setScale(oldX, oldY);
+        cola.textoCentrado(fuente, pista, ancho, 120, ESCALA_FUENTE);
     }
 
     public void handleInput() {
@@ -1,66 +1,121 @@
 package com.cosmic.collision;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.nio.ByteBuffer;
 
 /**
  * Paleta (nave) dibujada con SpriteBatch.
  */
 public class Plataforma extends ObjetoJuego implements Colisionable {
+    /** Empuje lateral máximo (px) que da la paleta y px desde el centro por cada px de empuje. */
+    public static final int DESVIO_MAXIMO = 4;
+    public static final int PASO_DESVIO = 6;
+
     private float velPxPorSeg = 200f;
-    private Texture texture;
+    private TextureRegion texture;
+    private final Rectangle rect = new Rectangle();
+    // Posición horizontal exacta (x es su redondeo) y la del tick anterior para interpolar
+    private float posX;
+    private float prevX;
 
-    public Plataforma(int x, int y, int ancho, int alto, Texture texture) {
+    public Plataforma(int x, int y, int ancho, int alto, TextureRegion texture) {
         super(x, y, ancho, alto);
         this.texture = texture;
+        this.posX = x;
+        this.prevX = x;
     }
 
     public void setVelPxPorSeg(float v) { this.velPxPorSeg = v; }
-    public void setTexture(Texture tx) { this.texture = tx; }
+    public float getVelPxPorSeg() { return velPxPorSeg; }
+    public void setTexture(TextureRegion tx) { this.texture = tx; }
+    /** Posición horizontal exacta (getX() es su redondeo). */
+    public float getPosX() { return posX; }
+
+    /** Cambia posición y ancho en el lugar (power-ups de tamaño, progresión de nivel). */
+    public void redimensionar(int nuevoX, int nuevoAncho) {
+        this.x = nuevoX;
+        this.posX = nuevoX;
+        this.prevX = nuevoX;
+        this.ancho = nuevoAncho;
+    }
+
+    static final int TAMANO_SNAPSHOT = 4 * 4 + 3 * 4;
+
+    void escribir(ByteBuffer buf) {
+        buf.putInt(x).putInt(y).putInt(ancho).putInt(alto);
+        buf.putFloat(posX).putFloat(prevX).putFloat(velPxPorSeg);
+    }
+
+    void leer(ByteBuffer buf) {
+        x = buf.getInt();
+        y = buf.getInt();
+        ancho = buf.getInt();
+        alto = buf.getInt();
+        posX = buf.getFloat();
+        prevX = buf.getFloat();
+        velPxPorSeg = buf.getFloat();
+    }
+
+    /** Guarda la posición actual como la del tick anterior (inicio de cada tick). */
+    public void guardarEstadoPrevio() {
+        prevX = posX;
+    }
 
     @Override
     public void actualizar() {
-        float dt = Gdx.graphics.getDeltaTime();
-        int nx = x;
+        actualizar(Gdx.graphics.getDeltaTime(), InputSource.TECLADO.izquierda(), InputSource.TECLADO.derecha(),
+                Gdx.graphics.getWidth());
+    }
+
+    /** Avanza un tick de dt segundos según los controles, sin salir de [0, anchoMundo]. */
+    public void actualizar(float dt, boolean izquierda, boolean derecha, float anchoMundo) {
+        float nx = posX;
 
-        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
-            nx = (int)(x - velPxPorSeg * dt);
+        if (izquierda) {
+            nx = posX - velPxPorSeg * dt;
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
-            nx = (int)(x + velPxPorSeg * dt);
+        if (derecha) {
+            nx = posX + velPxPorSeg * dt;
         }
 
         if (nx < 0) nx = 0;
-        if (nx + ancho > Gdx.graphics.getWidth()) {
-            nx = Gdx.graphics.getWidth() - ancho;
+        if (nx + ancho > anchoMundo) {
+            nx = anchoMundo - ancho;
         }
-        x = nx;
+        posX = nx;
+        x = (int) nx;
     }
 
     @Override
     public Rectangle getRect() {
-        return new Rectangle(x, y, ancho, alto);
+        return rect.set(x, y, ancho, alto);
     }
 
-    @Override
-    public void alChocarConBola(BolaPing bola) {
-        bola.setColor(Color.GREEN);
-        int centro = x + ancho / 2;
-        int dif = bola.getX() - centro;
-        if (Math.abs(dif) > 0) {
-            int signo = dif > 0 ? 1 : -1;
-            bola.setXY(bola.getX() + signo * Math.min(4, Math.abs(dif) / 6), bola.getY());
-        }
+    /** Empuje lateral que recibe una bola al tocar la paleta, según qué tan lejos del centro pegó. */
+    public int desvioHorizontal(int bolaX) {
+        int dif = bolaX - (x + ancho / 2);
+        if (dif == 0) return 0;
+        return (dif > 0 ? 1 : -1) * Math.min(DESVIO_MAXIMO, Math.abs(dif) / PASO_DESVIO);
     }
 
     @Override
     public void dibujar(SpriteBatch batch) {
+        dibujar(batch, 1f);
+    }
+
+    /** Dibuja interpolando entre el tick anterior y el actual (alfa en [0, 1]). */
+    public void dibujar(SpriteBatch batch, float alfa) {
         if (texture != null) {
-            batch.draw(texture, x, y, ancho, alto);
+            batch.draw(texture, prevX + (posX - prevX) * alfa, y, ancho, alto);
         }
     }
+
+    /** Igual, anotada en la cola de dibujo del frame. */
+    public void dibujar(RenderQueue cola, float alfa) {
+        cola.sprite(texture, prevX + (posX - prevX) * alfa, y, ancho, alto);
+    }
 }
\ No newline at end of file
@@ -4,51 +4,127 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.Pool;
+
+import java.nio.ByteBuffer;
 
 /**
  * Ítem que cae y aplica un efecto al ser capturado por la paleta.
  * No implementa Colisionable (la bola no debe interactuar con él).
  * Tiene un breve delay tras generarse antes de poder ser recogido por la paleta,
  * para evitar solapamientos instantáneos que parezcan "rebotar" la bola.
+ * Se reutiliza desde un Pool: iniciar() lo deja como recién creado y los colores
+ * por tipo son compartidos por todas las instancias.
  */
-public class PowerUp extends ObjetoJuego {
+public class PowerUp extends ObjetoJuego implements Pool.Poolable {
+
+    /** Tiempo tras aparecer durante el cual la paleta todavía no puede recogerlo. */
+    public static final long RETARDO_RECOGIDA_MS = 150L;
+    public static final float VEL_Y_PX_POR_SEG = 140f; // velocidad de caída
+    private static final Color[] COLOR_POR_TIPO = crearColores();
+    private static final PowerUpType[] TIPOS = PowerUpType.values();
 
-    private final PowerUpType tipo;
-    private final float velYPxPorSeg; // velocidad de caída
-    private final Color color;
+    private PowerUpType tipo;
+    private final Rectangle rect = new Rectangle();
+    private float posY;  // altura exacta (y es su redondeo)
+    private float prevY; // altura del tick anterior, para interpolar
+    private int ticksParaRecoger;
 
-    // control de availability
-    private final long spawnTimeMs;
-    private final long pickupDelayMs; // tiempo en ms antes de poder ser recogido
+    /** Instancia vacía para el Pool; se configura con iniciar(). */
+    public PowerUp() {
+        super(0, 0, 0, 0);
+    }
 
     public PowerUp(int x, int y, int ancho, int alto, PowerUpType tipo) {
         super(x, y, ancho, alto);
+        iniciar(x, y, ancho, alto, tipo, 0);
+    }
+
+    /** Deja el ítem como recién soltado; ticksRetardo ticks después ya se puede recoger. */
+    public PowerUp iniciar(int x, int y, int ancho, int alto, PowerUpType tipo, int ticksRetardo) {
+        this.x = x;
+        this.y = y;
+        this.ancho = ancho;
+        this.alto = alto;
         this.tipo = tipo;
-        this.velYPxPorSeg = 140f;
-        this.color = colorPorTipo(tipo);
+        this.posY = y;
+        this.prevY = y;
+        this.ticksParaRecoger = ticksRetardo;
+        return this;
+    }
+
+    static final int TAMANO_SNAPSHOT = 4 * 4 + 1 + 2 * 4 + 4;
+
+    void escribir(ByteBuffer buf) {
+        buf.putInt(x).putInt(y).putInt(ancho).putInt(alto);
+        buf.put((byte) tipo.ordinal());
+        buf.putFloat(posY).putFloat(prevY).putInt(ticksParaRecoger);
+    }
+
+    /** Deja este ítem (recién sacado del pool) como estaba al escribirlo. */
+    PowerUp leer(ByteBuffer buf) {
+        x = buf.getInt();
+        y = buf.getInt();
+        ancho = buf.getInt();
+        alto = buf.getInt();
+        tipo = TIPOS[buf.get()];
+        posY = buf.getFloat();
+        prevY = buf.getFloat();
+        ticksParaRecoger = buf.getInt();
+        return this;
+    }
 
-        this.spawnTimeMs = TimeUtils.millis();
-        this.pickupDelayMs = 150; // 150 ms; ajustar si quieres más/menos
+    @Override
+    public void reset() {
+        tipo = null;
     }
 
     public PowerUpType getTipo() { return tipo; }
 
-    public Rectangle getRect() { return new Rectangle(x, y, ancho, alto); }
+    public Rectangle getRect() { return rect.set(x, y, ancho, alto); }
+
+    /** Solape AABB con un Colisionable (la paleta) sin crear rectángulos. */
+    public boolean solapaCon(Colisionable c) {
+        return x < c.getX() + c.getAncho() && x + ancho > c.getX()
+                && y < c.getY() + c.getAlto() && y + alto > c.getY();
+    }
 
     @Override
     public void actualizar() {
-        float dt = Gdx.graphics.getDeltaTime();
-        y -= velYPxPorSeg * dt;
+        actualizar(Gdx.graphics.getDeltaTime());
+    }
+
+    /** Cae durante un tick de dt segundos y descuenta el retardo de recogida. */
+    public void actualizar(float dt) {
+        prevY = posY;
+        posY -= VEL_Y_PX_POR_SEG * dt;
+        y = (int) Math.floor(posY);
+        if (ticksParaRecoger > 0) ticksParaRecoger--;
     }
 
     @Override
     public void dibujar(ShapeRenderer sr) {
-        sr.setColor(color);
-        sr.rect(x, y, ancho, alto);
+        dibujar(sr, 1f);
+    }
+
+    /** Dibuja interpolando entre el tick anterior y el actual (alfa en [0, 1]). */
+    public void dibujar(ShapeRenderer sr, float alfa) {
+        sr.setColor(COLOR_POR_TIPO[tipo.ordinal()]);
+        sr.rect(x, prevY + (posY - prevY) * alfa, ancho, alto);
+    }
+
+    /** Igual, como rectángulo teñido en la cola de dibujo del frame. */
+    public void dibujar(RenderQueue cola, float alfa) {
+        cola.rect(x, prevY + (posY - prevY) * alfa, ancho, alto, COLOR_POR_TIPO[tipo.ordinal()]);
+    }
+
+    private static Color[] crearColores() {
+        Color[] colores = new Color[PowerUpType.values().length];
+        for (PowerUpType t : PowerUpType.values()) colores[t.ordinal()] = colorPorTipo(t);
+        return colores;
     }
 
-    private Color colorPorTipo(PowerUpType t) {
+    private static Color colorPorTipo(PowerUpType t) {
         switch (t) {
             case EXPLOSIVE_BALL: return new Color(1f, 0.40f, 0.0f, 1f);   // naranja
             case PADDLE_GROW:    return new Color(0.2f, 0.8f, 0.2f, 1f);   // verde
@@ -65,10 +141,10 @@ public class PowerUp extends ObjetoJuego {
      * Indica si ya ha pasado el delay y puede ser recogido por la paleta.
      */
     public boolean isActive() {
-        return TimeUtils.millis() >= (spawnTimeMs + pickupDelayMs);
+        return ticksParaRecoger <= 0;
     }
 
     // Exponer getters simples (ya que ObjetoJuego tiene campos protegidos)
     public int getY() { return y; }
     public int getAlto() { return alto; }
-}
\ No newline at end of file
+}
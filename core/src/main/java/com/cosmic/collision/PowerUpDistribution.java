@@ -27,4 +27,34 @@ public class PowerUpDistribution {
         this.speedUp = speedUp;
         this.speedDown = speedDown;
     }
+
+    /** Escala las probabilidades para que sumen 1; false (sin cambios) si suman 0. */
+    public boolean normalizar() {
+        double suma = grow + shrink + explosive + life + split + speedUp + speedDown;
+        if (suma <= 0) return false;
+        grow      /= suma;
+        shrink    /= suma;
+        explosive /= suma;
+        life      /= suma;
+        split     /= suma;
+        speedUp   /= suma;
+        speedDown /= suma;
+        return true;
+    }
+
+    /** Tipo que corresponde a r en [0, 1) sobre la distribución ya normalizada. */
+    public PowerUpType sortear(double r) {
+        if (r < grow) return PowerUpType.PADDLE_GROW;
+        r -= grow;
+        if (r < shrink) return PowerUpType.PADDLE_SHRINK;
+        r -= shrink;
+        if (r < explosive) return PowerUpType.EXPLOSIVE_BALL;
+        r -= explosive;
+        if (r < life) return PowerUpType.EXTRA_LIFE;
+        r -= life;
+        if (r < split) return PowerUpType.SPLIT_BALL;
+        r -= split;
+        if (r < speedUp) return PowerUpType.SPEED_UP;
+        return PowerUpType.SPEED_DOWN;
+    }
 }
\ No newline at end of file
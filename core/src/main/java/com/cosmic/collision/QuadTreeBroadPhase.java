@@ -0,0 +1,144 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Broadphase de quadtree: cada id vive en el nodo más profundo que contiene
+ * por completo su AABB. Se adapta mejor que la grilla a campos dispersos o
+ * con bloques de tamaños distintos.
+ * Los nodos se crean bajo demanda y se reutilizan entre niveles.
+ */
+public class QuadTreeBroadPhase extends AbstractBroadPhase {
+
+    private static final class Nodo {
+        float x0, y0, x1, y1;
+        int profundidad;
+        int total; // ids en este nodo y sus descendientes
+        final IntArray ids = new IntArray(8);
+        Nodo[] hijos;
+
+        void configurar(float x0, float y0, float x1, float y1, int profundidad) {
+            this.x0 = x0; this.y0 = y0; this.x1 = x1; this.y1 = y1;
+            this.profundidad = profundidad;
+        }
+
+        void limpiar() {
+            ids.clear();
+            total = 0;
+            if (hijos != null) for (Nodo h : hijos) h.limpiar();
+        }
+    }
+
+    private final int maxProfundidad;
+    private final Nodo raiz = new Nodo();
+    private Nodo[] nodoDe = new Nodo[64];
+
+    public QuadTreeBroadPhase() {
+        this(6);
+    }
+
+    public QuadTreeBroadPhase(int maxProfundidad) {
+        this.maxProfundidad = Math.max(0, maxProfundidad);
+    }
+
+    @Override
+    public void reiniciar(float anchoMundo, float altoMundo) {
+        super.reiniciar(anchoMundo, altoMundo);
+        Arrays.fill(nodoDe, null);
+        if (raiz.x1 != this.anchoMundo || raiz.y1 != this.altoMundo) {
+            raiz.hijos = null; // límites nuevos: descartar la subdivisión anterior
+        }
+        raiz.configurar(0f, 0f, this.anchoMundo, this.altoMundo, 0);
+        raiz.limpiar();
+    }
+
+    @Override
+    public void insertar(int id, float x, float y, float ancho, float alto) {
+        quitar(id);
+        super.insertar(id, x, y, ancho, alto);
+        Nodo n = raiz;
+        n.total++;
+        while (n.profundidad < maxProfundidad) {
+            Nodo h = hijoQueContiene(n, minX[id], minY[id], maxX[id], maxY[id]);
+            if (h == null) break;
+            n = h;
+            n.total++;
+        }
+        n.ids.add(id);
+        nodoDe[id] = n;
+    }
+
+    @Override
+    public void quitar(int id) {
+        if (id < 0 || id >= activo.length || !activo[id]) return;
+        Nodo destino = nodoDe[id];
+        destino.ids.removeValue(id);
+        nodoDe[id] = null;
+        // Descontar en la ruta desde la raíz hasta el nodo del id
+        Nodo n = raiz;
+        while (n != null) {
+            n.total--;
+            if (n == destino) break;
+            n = hijoQueContiene(n, minX[id], minY[id], maxX[id], maxY[id]);
+        }
+        super.quitar(id);
+    }
+
+    @Override
+    public int consultar(float qMinX, float qMinY, float qMaxX, float qMaxY, IntArray salida) {
+        int desde = salida.size;
+        consultarNodo(raiz, qMinX, qMinY, qMaxX, qMaxY, salida);
+        ordenarTramo(salida, desde);
+        return salida.size - desde;
+    }
+
+    private void consultarNodo(Nodo n, float qMinX, float qMinY, float qMaxX, float qMaxY, IntArray salida) {
+        if (n.total == 0) return;
+        // La raíz también guarda lo que queda fuera de los límites del mundo
+        if (n != raiz && (n.x0 > qMaxX || n.x1 < qMinX || n.y0 > qMaxY || n.y1 < qMinY)) return;
+        int[] ids = n.ids.items;
+        for (int i = 0, c = n.ids.size; i < c; i++) {
+            int id = ids[i];
+            if (solapa(id, qMinX, qMinY, qMaxX, qMaxY)) salida.add(id);
+        }
+        if (n.hijos != null) {
+            for (Nodo h : n.hijos) consultarNodo(h, qMinX, qMinY, qMaxX, qMaxY, salida);
+        }
+    }
+
+    /** Hijo de n que contiene por completo el AABB, creando los hijos si hace falta. */
+    private Nodo hijoQueContiene(Nodo n, float ax0, float ay0, float ax1, float ay1) {
+        float mx = (n.x0 + n.x1) * 0.5f;
+        float my = (n.y0 + n.y1) * 0.5f;
+        int cuadrante;
+        if (ax1 < mx && ax0 >= n.x0) {
+            if (ay1 < my && ay0 >= n.y0) cuadrante = 0;
+            else if (ay0 >= my && ay1 <= n.y1) cuadrante = 2;
+            else return null;
+        } else if (ax0 >= mx && ax1 <= n.x1) {
+            if (ay1 < my && ay0 >= n.y0) cuadrante = 1;
+            else if (ay0 >= my && ay1 <= n.y1) cuadrante = 3;
+            else return null;
+        } else {
+            return null;
+        }
+        if (n.hijos == null) {
+            n.hijos = new Nodo[4];
+            for (int i = 0; i < 4; i++) n.hijos[i] = new Nodo();
+            int p = n.profundidad + 1;
+            n.hijos[0].configurar(n.x0, n.y0, mx, my, p);
+            n.hijos[1].configurar(mx, n.y0, n.x1, my, p);
+            n.hijos[2].configurar(n.x0, my, mx, n.y1, p);
+            n.hijos[3].configurar(mx, my, n.x1, n.y1, p);
+        }
+        return n.hijos[cuadrante];
+    }
+
+    @Override
+    protected void asegurarCapacidad(int n) {
+        super.asegurarCapacidad(n);
+        if (nodoDe.length < activo.length) nodoDe = Arrays.copyOf(nodoDe, activo.length);
+    }
+}
@@ -0,0 +1,79 @@
+package com.cosmic.collision;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Generador SplitMix64 con el mismo algoritmo (y los mismos números) que
+ * java.util.SplittableRandom, pero con el estado accesible para guardarlo en
+ * un snapshot y restaurarlo. No es seguro entre hilos: cada mundo tiene los suyos.
+ */
+public final class RandomStream {
+
+    private static final long GAMMA_DORADA = 0x9e3779b97f4a7c15L;
+    private static final double UNIDAD_DOUBLE = 0x1.0p-53;
+
+    private long semilla;
+    private long gamma;
+
+    public RandomStream(long semilla) {
+        this(semilla, GAMMA_DORADA);
+    }
+
+    private RandomStream(long semilla, long gamma) {
+        this.semilla = semilla;
+        this.gamma = gamma;
+    }
+
+    /** Flujo nuevo e independiente de éste (equivale a SplittableRandom.split()). */
+    public RandomStream split() {
+        return new RandomStream(nextLong(), mezclarGamma(siguienteSemilla()));
+    }
+
+    public long nextLong() {
+        return mezclar64(siguienteSemilla());
+    }
+
+    /** Uniforme en [0, 1). */
+    public double nextDouble() {
+        return (mezclar64(siguienteSemilla()) >>> 11) * UNIDAD_DOUBLE;
+    }
+
+    /** Copia el estado de otro flujo (para clonar mundos sin crear objetos). */
+    public void copiarDe(RandomStream otro) {
+        this.semilla = otro.semilla;
+        this.gamma = otro.gamma;
+    }
+
+    /** Vuelve al flujo que daría new RandomStream(semilla), sin crear objetos. */
+    public void resembrar(long semilla) {
+        this.semilla = semilla;
+        this.gamma = GAMMA_DORADA;
+    }
+
+    void escribir(ByteBuffer buf) {
+        buf.putLong(semilla).putLong(gamma);
+    }
+
+    void leer(ByteBuffer buf) {
+        semilla = buf.getLong();
+        gamma = buf.getLong();
+    }
+
+    private long siguienteSemilla() {
+        return semilla += gamma;
+    }
+
+    private static long mezclar64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long mezclarGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
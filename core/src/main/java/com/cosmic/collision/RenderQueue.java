@@ -0,0 +1,173 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.util.Arrays;
+
+/**
+ * Cola de dibujo del frame: fondo, mundo, overlays y texto se anotan como
+ * comandos (sprite, rectángulo, círculo o texto) y enviar() los pasa todos por
+ * un único begin/end del lote, en el orden en que se anotaron. Rectángulos y
+ * círculos son regiones pre-armadas del atlas (píxel blanco y círculo suavizado)
+ * teñidas con el color del comando, así que no hay pasadas de ShapeRenderer ni
+ * teselado por bola, y el único cambio de estado que queda es el de textura
+ * cuando un comando no sale del atlas (la capa de bloques).
+ *
+ * Mientras se anotan comandos el lote está libre: quien necesite dibujar fuera
+ * de pantalla (BlockLayer) puede usar getBatch() antes de enviar().
+ *
+ * Los comandos se guardan en arreglos paralelos que se reutilizan entre frames;
+ * el texto guarda la referencia a la cadena, que no debe cambiar hasta enviar().
+ */
+public final class RenderQueue {
+
+    private static final byte SPRITE = 0;
+    private static final byte TEXTO = 1;
+    private static final byte TEXTO_CENTRADO = 2;
+    private static final byte TEXTO_CACHEADO = 3;
+    private static final float BLANCO_EMPAQUETADO = Color.WHITE.toFloatBits();
+
+    private final SpriteBatch batch;
+    private final TextureRegion blanco;
+    private final TextureRegion circulo;
+    private final GlyphLayout layout = new GlyphLayout();
+
+    private byte[] tipo = new byte[256];
+    // Sprite: x, y, ancho, alto. Texto: x, y, ancho para centrar, escala de la fuente.
+    private float[] datos = new float[256 * 4];
+    private float[] color = new float[256];
+    private Object[] recurso = new Object[256];   // TextureRegion, BitmapFont o BitmapFontCache
+    private CharSequence[] texto = new CharSequence[256];
+    private int size;
+    private int comandosEnviados;
+
+    public RenderQueue(SpriteBatch batch, GameAtlas atlas) {
+        this.batch = batch;
+        this.blanco = atlas.region(GameAtlas.BLANCO);
+        this.circulo = atlas.region(GameAtlas.CIRCULO);
+    }
+
+    /** El lote con que se envía la cola; libre para otros usos mientras no se llame a enviar(). */
+    public SpriteBatch getBatch() { return batch; }
+
+    /** Región de un píxel blanco (la que usan rect()). */
+    public TextureRegion getBlanco() { return blanco; }
+
+    public void sprite(TextureRegion region, float x, float y, float ancho, float alto) {
+        sprite(region, x, y, ancho, alto, BLANCO_EMPAQUETADO);
+    }
+
+    /** colorEmpaquetado: Color.toFloatBits() del tinte. */
+    public void sprite(TextureRegion region, float x, float y, float ancho, float alto, float colorEmpaquetado) {
+        if (region == null) return;
+        int i = agregar(SPRITE, region, colorEmpaquetado);
+        int j = i * 4;
+        datos[j] = x;
+        datos[j + 1] = y;
+        datos[j + 2] = ancho;
+        datos[j + 3] = alto;
+    }
+
+    public void rect(float x, float y, float ancho, float alto, Color c) {
+        sprite(blanco, x, y, ancho, alto, c.toFloatBits());
+    }
+
+    public void rect(float x, float y, float ancho, float alto, float r, float g, float b, float a) {
+        sprite(blanco, x, y, ancho, alto, Color.toFloatBits(r, g, b, a));
+    }
+
+    public void circulo(float cx, float cy, float radio, float colorEmpaquetado) {
+        sprite(circulo, cx - radio, cy - radio, 2 * radio, 2 * radio, colorEmpaquetado);
+    }
+
+    /** Texto con la escala que tiene la fuente ahora (se restaura al enviar). */
+    public void texto(BitmapFont fuente, CharSequence s, float x, float y) {
+        texto(fuente, s, x, y, fuente.getData().scaleX);
+    }
+
+    public void texto(BitmapFont fuente, CharSequence s, float x, float y, float escala) {
+        agregarTexto(TEXTO, fuente, s, x, y, 0f, escala);
+    }
+
+    /** Texto centrado horizontalmente en [0, ancho]; se mide al enviar, con la escala dada. */
+    public void textoCentrado(BitmapFont fuente, CharSequence s, float ancho, float y, float escala) {
+        agregarTexto(TEXTO_CENTRADO, fuente, s, 0f, y, ancho, escala);
+    }
+
+    /** Texto ya maquetado: se dibuja tal cual, sin medir ni armar glifos al enviar. */
+    public void texto(BitmapFontCache cache) {
+        agregar(TEXTO_CACHEADO, cache, BLANCO_EMPAQUETADO);
+    }
+
+    private void agregarTexto(byte t, BitmapFont fuente, CharSequence s, float x, float y, float ancho, float escala) {
+        int i = agregar(t, fuente, BLANCO_EMPAQUETADO);
+        texto[i] = s;
+        int j = i * 4;
+        datos[j] = x;
+        datos[j + 1] = y;
+        datos[j + 2] = ancho;
+        datos[j + 3] = escala;
+    }
+
+    private int agregar(byte t, Object r, float c) {
+        if (size == tipo.length) crecer();
+        int i = size++;
+        tipo[i] = t;
+        recurso[i] = r;
+        color[i] = c;
+        return i;
+    }
+
+    private void crecer() {
+        int n = tipo.length * 2;
+        tipo = Arrays.copyOf(tipo, n);
+        datos = Arrays.copyOf(datos, n * 4);
+        color = Arrays.copyOf(color, n);
+        recurso = Arrays.copyOf(recurso, n);
+        texto = Arrays.copyOf(texto, n);
+    }
+
+    /**
+     * Dibuja los comandos anotados en un solo begin/end y vacía la cola. El lote
+     * solo se vacía antes de tiempo al cambiar de textura o al llenarse.
+     */
+    public void enviar() {
+        comandosEnviados = size;
+        if (size == 0) return;
+        batch.begin();
+        for (int i = 0, j = 0; i < size; i++, j += 4) {
+            if (tipo[i] == SPRITE) {
+                batch.setPackedColor(color[i]);
+                batch.draw((TextureRegion) recurso[i], datos[j], datos[j + 1], datos[j + 2], datos[j + 3]);
+            } else if (tipo[i] == TEXTO_CACHEADO) {
+                ((BitmapFontCache) recurso[i]).draw(batch);
+            } else {
+                dibujarTexto((BitmapFont) recurso[i], texto[i], tipo[i] == TEXTO_CENTRADO, datos[j], datos[j + 1], datos[j + 2], datos[j + 3]);
+            }
+        }
+        batch.end();
+        batch.setColor(Color.WHITE);
+        // Sin referencias colgando a cadenas y fuentes del frame
+        Arrays.fill(recurso, 0, size, null);
+        Arrays.fill(texto, 0, size, null);
+        size = 0;
+    }
+
+    private void dibujarTexto(BitmapFont fuente, CharSequence s, boolean centrado,
+                              float x, float y, float ancho, float escala) {
+        BitmapFont.BitmapFontData data = fuente.getData();
+        float escalaX = data.scaleX, escalaY = data.scaleY;
+        if (escalaX != escala || escalaY != escala) data.setScale(escala);
+        layout.setText(fuente, s);
+        fuente.draw(batch, layout, centrado ? (ancho - layout.width) / 2f : x, y);
+        if (escalaX != escala || escalaY != escala) data.setScale(escalaX, escalaY);
+    }
+
+    /** Comandos del último enviar() (para el contador de depuración). */
+    public int getComandosEnviados() { return comandosEnviados; }
+}
@@ -0,0 +1,62 @@
+package com.cosmic.collision;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Formato binario de las grabaciones (.ccr).
+ *
+ * Cabecera: MAGIA (int), VERSION (short), dificultad (byte), flags (byte),
+ * semilla (long), frecuencia de tick (float), intervalo de hash en ticks (int).
+ *
+ * Después, registros con un byte de etiqueta:
+ *  - 0x00..0x07: tramo de entrada; la etiqueta son los bits InputSource.BIT_* y
+ *    le sigue la cantidad de ticks (varint) con esa misma entrada.
+ *  - HASH: tick (varint) y hash del estado (long) al terminar ese tick.
+ *  - REINICIO_NIVEL: el jugador reinició el nivel antes del tick siguiente.
+ *  - FIN: total de ticks (varint).
+ */
+final class ReplayFormat {
+
+    static final int MAGIA = 0x43435250; // "CCRP"
+    /**
+     * Sube con cada cambio de formato o de reglas que cambie lo que se reproduce:
+     * una grabación de otra versión se rechaza en vez de desincronizarse.
+     * 2: el nivel termina al romper todos los bloques rompibles.
+     */
+    static final short VERSION = 2;
+    static final int TAMANO_CABECERA = 4 + 2 + 1 + 1 + 8 + 4 + 4;
+
+    static final int FLAG_MODO_ESTRES = 1;
+    static final int FLAG_REACCION_EN_CADENA = 2;
+
+    static final int MAX_BITS_ENTRADA = 0x07;
+    static final byte HASH = 0x10;
+    static final byte REINICIO_NIVEL = 0x20;
+    static final byte FIN = 0x7F;
+
+    /** Tamaño máximo de un registro (HASH: etiqueta + varint de 64 bits + long). */
+    static final int MAX_REGISTRO = 1 + 10 + 8;
+
+    private ReplayFormat() {}
+
+    static void escribirVarint(ByteBuffer buf, long v) {
+        while ((v & ~0x7FL) != 0) {
+            buf.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        buf.put((byte) v);
+    }
+
+    static long leerVarint(ByteBuffer buf) {
+        long v = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            if (desplazamiento >= 64) throw new IllegalStateException("varint inválido en la grabación");
+            b = buf.get();
+            v |= (long) (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while ((b & 0x80) != 0);
+        return v;
+    }
+}
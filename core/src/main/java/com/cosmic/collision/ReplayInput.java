@@ -0,0 +1,20 @@
+package com.cosmic.collision;
+
+/**
+ * Entrada fijada desde afuera tick a tick (reproducción de grabaciones, scripts).
+ */
+public final class ReplayInput implements InputSource {
+
+    private int bits;
+
+    /** Bits InputSource.BIT_* que verá el mundo en el próximo tick. */
+    public void setBits(int bits) {
+        this.bits = bits;
+    }
+
+    public int getBits() { return bits; }
+
+    @Override public boolean izquierda() { return (bits & BIT_IZQUIERDA) != 0; }
+    @Override public boolean derecha() { return (bits & BIT_DERECHA) != 0; }
+    @Override public boolean lanzar() { return (bits & BIT_LANZAR) != 0; }
+}
@@ -0,0 +1,146 @@
+package com.cosmic.collision;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reproduce una grabación de ReplayRecorder leyendo una copia del archivo en
+ * memoria y volviendo a simular cada tick. No se mapea: un archivo mapeado
+ * queda abierto hasta que el GC libera el mapeo, y mientras tanto (en Windows)
+ * la partida siguiente no puede volver a grabar encima. En cada hash grabado compara el
+ * estado del mundo; el primer desacuerdo queda registrado como desincronización.
+ *
+ * El mundo debe usar como entrada la ReplayInput que se pasa a preparar(): la
+ * reproducción la fija antes de cada tick.
+ */
+public final class ReplayPlayer {
+
+    private static final Dificultad[] DIFICULTADES = Dificultad.values();
+
+    private final ByteBuffer datos;
+    private final Dificultad dificultad;
+    private final int flags;
+    private final long semilla;
+    private final float frecuenciaTick;
+    private final int intervaloHash;
+
+    private GameWorld mundo;
+    private ReplayInput entrada;
+    private long tramoRestante;
+    private long ticks;
+    private long tickDesincronizado = -1;
+    private boolean terminada;
+
+    private ReplayPlayer(ByteBuffer datos) {
+        this.datos = datos;
+        if (datos.remaining() < ReplayFormat.TAMANO_CABECERA || datos.getInt() != ReplayFormat.MAGIA) {
+            throw new IllegalArgumentException("no es una grabación de Cosmic Collision");
+        }
+        short version = datos.getShort();
+        if (version != ReplayFormat.VERSION) {
+            throw new IllegalArgumentException("versión de grabación no soportada: " + version);
+        }
+        int indiceDificultad = datos.get();
+        if (indiceDificultad < 0 || indiceDificultad >= DIFICULTADES.length) {
+            throw new IllegalArgumentException("dificultad desconocida en la grabación: " + indiceDificultad);
+        }
+        this.dificultad = DIFICULTADES[indiceDificultad];
+        this.flags = datos.get();
+        this.semilla = datos.getLong();
+        this.frecuenciaTick = datos.getFloat();
+        this.intervaloHash = datos.getInt();
+    }
+
+    /**
+     * @throws IllegalArgumentException si no es una grabación, es de otra versión
+     *         o su cabecera no tiene sentido.
+     */
+    public static ReplayPlayer abrir(Path archivo) throws IOException {
+        return new ReplayPlayer(ByteBuffer.wrap(Files.readAllBytes(archivo)));
+    }
+
+    public Dificultad getDificultad() { return dificultad; }
+    public long getSemilla() { return semilla; }
+    public float getFrecuenciaTick() { return frecuenciaTick; }
+    public int getIntervaloHash() { return intervaloHash; }
+
+    /** Configura el mundo como estaba al empezar la grabación y deja todo en el tick 0. */
+    public void preparar(GameWorld mundo, ReplayInput entrada) {
+        this.mundo = mundo;
+        this.entrada = entrada;
+        mundo.aplicarDificultad(new DifficultySettings(dificultad));
+        mundo.setFrecuenciaTick(frecuenciaTick);
+        mundo.setModoEstres((flags & ReplayFormat.FLAG_MODO_ESTRES) != 0);
+        mundo.setReaccionEnCadena((flags & ReplayFormat.FLAG_REACCION_EN_CADENA) != 0);
+        mundo.setGrabacion(null);
+        mundo.iniciarJuego(semilla);
+        datos.position(ReplayFormat.TAMANO_CABECERA);
+        tramoRestante = 0;
+        ticks = 0;
+        tickDesincronizado = -1;
+        terminada = false;
+    }
+
+    /**
+     * Simula hasta maxTicks ticks más de la grabación (p. ej. ticks del frame × velocidad).
+     * @return ticks simulados; menos que maxTicks solo si la grabación terminó.
+     * @throws IllegalStateException si la grabación está truncada o tiene un registro inválido.
+     */
+    public int avanzar(int maxTicks) {
+        try {
+            return avanzarRegistros(maxTicks);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException("grabación truncada en el tick " + ticks);
+        }
+    }
+
+    private int avanzarRegistros(int maxTicks) {
+        int hechos = 0;
+        while (hechos < maxTicks && !terminada) {
+            if (tramoRestante > 0) {
+                mundo.actualizar();
+                tramoRestante--;
+                ticks++;
+                hechos++;
+                continue;
+            }
+            if (!datos.hasRemaining()) {
+                terminada = true;
+                break;
+            }
+            byte etiqueta = datos.get();
+            if (etiqueta >= 0 && etiqueta <= ReplayFormat.MAX_BITS_ENTRADA) {
+                entrada.setBits(etiqueta);
+                tramoRestante = ReplayFormat.leerVarint(datos);
+            } else if (etiqueta == ReplayFormat.HASH) {
+                long tick = ReplayFormat.leerVarint(datos);
+                long hash = datos.getLong();
+                if (tickDesincronizado < 0 && (tick != ticks || hash != mundo.hashEstado())) {
+                    tickDesincronizado = ticks;
+                }
+            } else if (etiqueta == ReplayFormat.REINICIO_NIVEL) {
+                mundo.reiniciarNivel();
+            } else if (etiqueta == ReplayFormat.FIN) {
+                ReplayFormat.leerVarint(datos);
+                terminada = true;
+            } else {
+                throw new IllegalStateException("registro desconocido en la grabación: " + etiqueta);
+            }
+        }
+        return hechos;
+    }
+
+    /** Reproduce lo que falta de una vez, lo más rápido posible. */
+    public void avanzarHastaElFinal() {
+        while (!terminada) avanzar(Integer.MAX_VALUE);
+    }
+
+    public long getTicks() { return ticks; }
+    public boolean isTerminada() { return terminada; }
+    public boolean isDesincronizada() { return tickDesincronizado >= 0; }
+    /** Tick en el que el hash no coincidió por primera vez, o -1. */
+    public long getTickDesincronizado() { return tickDesincronizado; }
+}
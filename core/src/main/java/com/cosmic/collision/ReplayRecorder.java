@@ -0,0 +1,163 @@
+package com.cosmic.collision;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Graba una partida como semilla + dificultad + la entrada de cada tick
+ * comprimida por tramos (RLE), con un hash del estado cada intervaloHash ticks.
+ *
+ * El hilo del juego solo escribe en un bloque de memoria reutilizable; los
+ * bloques llenos pasan por una cola a un hilo escritor que los vuelca al
+ * archivo y los devuelve para reutilizar. Una partida típica ocupa unos pocos KB.
+ */
+public final class ReplayRecorder {
+
+    public static final int INTERVALO_HASH_POR_DEFECTO = 120;
+    private static final int TAMANO_BLOQUE = 16 * 1024;
+    private static final int BLOQUES = 4;
+    private static final ByteBuffer FIN_COLA = ByteBuffer.allocate(0);
+
+    private final FileChannel canal;
+    private final int intervaloHash;
+    private final BlockingQueue<ByteBuffer> pendientes = new ArrayBlockingQueue<>(BLOQUES + 1);
+    private final BlockingQueue<ByteBuffer> libres = new ArrayBlockingQueue<>(BLOQUES);
+    private final Thread escritor;
+    private volatile IOException errorEscritura;
+
+    private ByteBuffer actual;
+    private int bitsTramo = -1;
+    private long largoTramo;
+    private long ticks;
+    private boolean cerrada;
+
+    private ReplayRecorder(FileChannel canal, int intervaloHash) {
+        this.canal = canal;
+        this.intervaloHash = Math.max(1, intervaloHash);
+        for (int i = 0; i < BLOQUES - 1; i++) libres.add(ByteBuffer.allocate(TAMANO_BLOQUE));
+        this.actual = ByteBuffer.allocate(TAMANO_BLOQUE);
+        this.escritor = new Thread(this::volcarBloques, "replay-writer");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Empieza a grabar la partida que el mundo acaba de iniciar (llamar justo
+     * después de iniciarJuego y antes del primer tick).
+     */
+    public static ReplayRecorder abrir(Path archivo, GameWorld mundo, int intervaloHash) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ReplayRecorder r = new ReplayRecorder(canal, intervaloHash);
+        int flags = (mundo.isModoEstres() ? ReplayFormat.FLAG_MODO_ESTRES : 0)
+                | (mundo.isReaccionEnCadena() ? ReplayFormat.FLAG_REACCION_EN_CADENA : 0);
+        ByteBuffer b = r.actual;
+        b.putInt(ReplayFormat.MAGIA);
+        b.putShort(ReplayFormat.VERSION);
+        b.put((byte) mundo.getSettings().dificultad.ordinal());
+        b.put((byte) flags);
+        b.putLong(mundo.getSemilla());
+        b.putFloat(1f / mundo.getPasoSegundos());
+        b.putInt(r.intervaloHash);
+        return r;
+    }
+
+    /** Lo llama el mundo al final de cada tick con la entrada que usó. */
+    void alTerminarTick(int bits, GameWorld mundo) {
+        if (cerrada) return;
+        if (bits != bitsTramo) {
+            cerrarTramo();
+            bitsTramo = bits;
+        }
+        largoTramo++;
+        ticks++;
+        if (ticks % intervaloHash == 0) {
+            cerrarTramo();
+            reservar();
+            actual.put(ReplayFormat.HASH);
+            ReplayFormat.escribirVarint(actual, ticks);
+            actual.putLong(mundo.hashEstado());
+        }
+    }
+
+    /** Lo llama el mundo cuando el jugador reinicia el nivel desde la pausa. */
+    void alReiniciarNivel() {
+        if (cerrada) return;
+        cerrarTramo();
+        reservar();
+        actual.put(ReplayFormat.REINICIO_NIVEL);
+    }
+
+    public long getTicks() { return ticks; }
+
+    /** Escribe el final, espera al hilo escritor y cierra el archivo. */
+    public void cerrar() throws IOException {
+        if (cerrada) return;
+        cerrarTramo();
+        reservar();
+        actual.put(ReplayFormat.FIN);
+        ReplayFormat.escribirVarint(actual, ticks);
+        cerrada = true;
+        entregar();
+        encolar(FIN_COLA);
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        canal.close();
+        if (errorEscritura != null) throw errorEscritura;
+    }
+
+    private void cerrarTramo() {
+        if (largoTramo == 0) return;
+        reservar();
+        actual.put((byte) bitsTramo);
+        ReplayFormat.escribirVarint(actual, largoTramo);
+        largoTramo = 0;
+        bitsTramo = -1;
+    }
+
+    /** Garantiza lugar para un registro más; si no hay, entrega el bloque al escritor. */
+    private void reservar() {
+        if (actual.remaining() < ReplayFormat.MAX_REGISTRO) entregar();
+    }
+
+    private void entregar() {
+        actual.flip();
+        encolar(actual);
+        ByteBuffer siguiente = libres.poll();
+        actual = siguiente != null ? siguiente : ByteBuffer.allocate(TAMANO_BLOQUE);
+    }
+
+    private void encolar(ByteBuffer b) {
+        try {
+            pendientes.put(b);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void volcarBloques() {
+        try {
+            while (true) {
+                ByteBuffer b = pendientes.take();
+                if (b == FIN_COLA) return;
+                try {
+                    while (b.hasRemaining()) canal.write(b);
+                } catch (IOException e) {
+                    if (errorEscritura == null) errorEscritura = e;
+                }
+                b.clear();
+                libres.offer(b);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
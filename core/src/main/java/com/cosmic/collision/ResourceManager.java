@@ -8,13 +8,14 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Singleton para gestionar Textures y BitmapFonts.
+ * Singleton para gestionar Textures, BitmapFonts y el atlas del juego.
  * Uso: ResourceManager.getInstance().getTexture("paleta","nave.png");
  */
 public final class ResourceManager {
     private static ResourceManager instance;
     private final Map<String, Texture> textures = new HashMap<>();
     private final Map<String, BitmapFont> fonts = new HashMap<>();
+    private GameAtlas atlas;
 
     private ResourceManager() {}
 
@@ -37,6 +38,12 @@ public final class ResourceManager {
         return textures.get(key);
     }
 
+    /** Atlas con todos los sprites del juego; se empaqueta la primera vez que se pide. */
+    public GameAtlas getAtlas() {
+        if (atlas == null) atlas = GameAtlas.cargar();
+        return atlas;
+    }
+
     public BitmapFont getFont(String key, String assetPath) {
         if (!fonts.containsKey(key)) {
             fonts.put(key, new BitmapFont(Gdx.files.internal(assetPath)));
@@ -60,6 +67,10 @@ public final class ResourceManager {
             try { f.dispose(); } catch (Exception ignored) {}
         }
         fonts.clear();
+        if (atlas != null) {
+            atlas.dispose();
+            atlas = null;
+        }
         instance = null;
     }
 }
\ No newline at end of file
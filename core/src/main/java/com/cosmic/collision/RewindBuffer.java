@@ -0,0 +1,209 @@
+package com.cosmic.collision;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Rebobinado para el modo práctica: anillo de tamaño fijo con el estado de los
+ * últimos ticks. Cada N ticks se guarda un snapshot completo (keyframe) y entre
+ * medio solo el XOR contra el tick anterior, codificado como tramos
+ * (saltar k bytes iguales, copiar m bytes distintos). De un tick al siguiente
+ * cambian pocas decenas de bytes, así que diez segundos a 120 Hz ocupan unos
+ * cientos de KB (unos 190 KB en un campo difícil de 16 filas) y los slots se
+ * reutilizan sin crear objetos.
+ *
+ * Reconstruir un tick cuesta decodificar como máximo N-1 deltas desde su keyframe.
+ */
+public final class RewindBuffer {
+
+    public static final int TICKS_ENTRE_KEYFRAMES = 30;
+
+    private final int capacidad;           // múltiplo de TICKS_ENTRE_KEYFRAMES
+    private final byte[][] slots;
+    private final int[] largos;
+    private final WorldSnapshot snapshot = new WorldSnapshot();
+
+    private long total;                    // ticks capturados (índice del próximo)
+    private long primero;                  // tick más antiguo que sigue en el anillo
+    private byte[] anterior = new byte[0]; // snapshot crudo del último tick capturado
+    private int largoAnterior;
+    private byte[] reconstruido = new byte[0];
+    private ByteBuffer vistaReconstruido = ByteBuffer.wrap(reconstruido);
+    private int posVarint;                 // posición tras el último leerVarint
+
+    /** Guarda los últimos segundos a la frecuencia de tick dada. */
+    public RewindBuffer(float segundos, float frecuenciaHz) {
+        int ticks = Math.max(TICKS_ENTRE_KEYFRAMES, Math.round(segundos * frecuenciaHz));
+        this.capacidad = (ticks + TICKS_ENTRE_KEYFRAMES - 1) / TICKS_ENTRE_KEYFRAMES * TICKS_ENTRE_KEYFRAMES;
+        this.slots = new byte[capacidad][];
+        this.largos = new int[capacidad];
+        for (int i = 0; i < capacidad; i++) slots[i] = new byte[0];
+    }
+
+    /** Olvida todo lo capturado (nueva partida). */
+    public void limpiar() {
+        total = 0;
+        primero = 0;
+        largoAnterior = 0;
+    }
+
+    /** Captura el estado del mundo al final de un tick. */
+    public void capturar(GameWorld mundo) {
+        ByteBuffer datos = snapshot.guardar(mundo);
+        int largo = datos.remaining();
+        byte[] crudo = datos.array();
+        int slot = (int) (total % capacidad);
+
+        if (total % TICKS_ENTRE_KEYFRAMES == 0) {
+            byte[] destino = asegurar(slot, largo);
+            System.arraycopy(crudo, 0, destino, 0, largo);
+            largos[slot] = largo;
+        } else {
+            largos[slot] = codificarDelta(slot, crudo, largo);
+        }
+
+        if (anterior.length < largo) anterior = new byte[Math.max(largo, anterior.length * 2)];
+        System.arraycopy(crudo, 0, anterior, 0, largo);
+        largoAnterior = largo;
+        total++;
+        // Tras rebobinar, total baja pero los slots ya pisados no vuelven: primero solo avanza
+        primero = Math.max(primero, total - capacidad);
+    }
+
+    /** Cuántos ticks hacia atrás se pueden recuperar ahora mismo. */
+    public int getTicksDisponibles() {
+        if (total == 0) return 0;
+        long primerKeyframe = (primero + TICKS_ENTRE_KEYFRAMES - 1) / TICKS_ENTRE_KEYFRAMES * TICKS_ENTRE_KEYFRAMES;
+        return (int) Math.max(0, total - 1 - primerKeyframe);
+    }
+
+    /**
+     * Retrocede hasta ticks ticks (lo que haya disponible), restaura ese estado en
+     * el mundo y descarta lo posterior: al soltar, la partida sigue desde ahí.
+     * @return ticks efectivamente retrocedidos.
+     */
+    public int retroceder(int ticks, GameWorld mundo) {
+        int pasos = Math.min(ticks, getTicksDisponibles());
+        if (pasos <= 0) return 0;
+        long objetivo = total - 1 - pasos;
+        int largo = reconstruir(objetivo);
+        vistaReconstruido.clear();
+        vistaReconstruido.limit(largo);
+        WorldSnapshot.restaurar(vistaReconstruido, mundo);
+
+        if (anterior.length < largo) anterior = new byte[largo];
+        System.arraycopy(reconstruido, 0, anterior, 0, largo);
+        largoAnterior = largo;
+        total = objetivo + 1;
+        return pasos;
+    }
+
+    /** Bytes ocupados por los slots (para vigilar el presupuesto de memoria). */
+    public long getBytesReservados() {
+        long b = anterior.length + reconstruido.length;
+        for (byte[] s : slots) b += s.length;
+        return b;
+    }
+
+    // ----------------- codificación -----------------
+
+    /**
+     * Delta contra el tick anterior: largo del snapshot (varint) y luego pares
+     * (bytes iguales a saltar, bytes distintos) seguidos del XOR de los distintos.
+     * Lo que excede el largo anterior se compara contra ceros.
+     */
+    private int codificarDelta(int slot, byte[] crudo, int largo) {
+        // El slot crece a medida que aparecen tramos; casi siempre alcanza con pocas decenas de bytes
+        byte[] destino = asegurar(slot, 16);
+        int o = escribirVarint(destino, 0, largo);
+        int i = 0;
+        while (i < largo) {
+            int inicio = i;
+            while (i < largo && crudo[i] == byteAnterior(i)) i++;
+            if (i == largo) break;
+            int saltar = i - inicio;
+            int distintos = i;
+            while (distintos < largo && crudo[distintos] != byteAnterior(distintos)) distintos++;
+            int cantidad = distintos - i;
+            if (o + 10 + cantidad > destino.length) destino = crecerSlot(slot, o + 10 + cantidad);
+            o = escribirVarint(destino, o, saltar);
+            o = escribirVarint(destino, o, cantidad);
+            for (int k = 0; k < cantidad; k++, i++) destino[o++] = (byte) (crudo[i] ^ byteAnterior(i));
+        }
+        return o;
+    }
+
+    private byte byteAnterior(int i) {
+        return i < largoAnterior ? anterior[i] : 0;
+    }
+
+    /** Deja en reconstruido el snapshot del tick indicado; devuelve su largo. */
+    private int reconstruir(long tick) {
+        long keyframe = tick - tick % TICKS_ENTRE_KEYFRAMES;
+        int slot = (int) (keyframe % capacidad);
+        int largo = largos[slot];
+        asegurarReconstruido(largo);
+        System.arraycopy(slots[slot], 0, reconstruido, 0, largo);
+
+        for (long t = keyframe + 1; t <= tick; t++) {
+            byte[] delta = slots[(int) (t % capacidad)];
+            int fin = largos[(int) (t % capacidad)];
+            int o = 0;
+            long v = leerVarint(delta, o);
+            o = posVarint;
+            int nuevoLargo = (int) v;
+            if (nuevoLargo > largo) {
+                asegurarReconstruido(nuevoLargo);
+                Arrays.fill(reconstruido, largo, nuevoLargo, (byte) 0);
+            }
+            largo = nuevoLargo;
+            int i = 0;
+            while (o < fin) {
+                i += (int) leerVarint(delta, o);
+                o = posVarint;
+                int cantidad = (int) leerVarint(delta, o);
+                o = posVarint;
+                for (int k = 0; k < cantidad; k++) reconstruido[i++] ^= delta[o++];
+            }
+        }
+        return largo;
+    }
+
+    private byte[] asegurar(int slot, int largo) {
+        if (slots[slot].length < largo) slots[slot] = new byte[largo + largo / 4];
+        return slots[slot];
+    }
+
+    private byte[] crecerSlot(int slot, int largo) {
+        slots[slot] = Arrays.copyOf(slots[slot], Math.max(largo, slots[slot].length * 2));
+        return slots[slot];
+    }
+
+    private void asegurarReconstruido(int largo) {
+        if (reconstruido.length >= largo) return;
+        reconstruido = Arrays.copyOf(reconstruido, Math.max(largo, reconstruido.length * 2));
+        vistaReconstruido = ByteBuffer.wrap(reconstruido);
+    }
+
+    private static int escribirVarint(byte[] b, int o, long v) {
+        while ((v & ~0x7FL) != 0) {
+            b[o++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        b[o++] = (byte) v;
+        return o;
+    }
+
+    private long leerVarint(byte[] b, int o) {
+        long v = 0;
+        int desplazamiento = 0;
+        byte x;
+        do {
+            x = b[o++];
+            v |= (long) (x & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while ((x & 0x80) != 0);
+        posVarint = o;
+        return v;
+    }
+}
@@ -0,0 +1,124 @@
+package com.cosmic.collision;
+
+/**
+ * Colisión continua (barrida) de un círculo en movimiento contra un AABB.
+ * Calcula el instante de impacto t en [0, 1] del desplazamiento y la normal
+ * de la cara (o esquina) tocada, para que la bola no atraviese bloques
+ * delgados a velocidades altas.
+ */
+public final class SweptCollision {
+
+    /** Resultado reutilizable de una prueba de impacto. */
+    public static final class Impacto {
+        public float t;
+        public float nx;
+        public float ny;
+
+        public void set(float t, float nx, float ny) {
+            this.t = t;
+            this.nx = nx;
+            this.ny = ny;
+        }
+
+        public void copiar(Impacto o) {
+            set(o.t, o.nx, o.ny);
+        }
+    }
+
+    private SweptCollision() {}
+
+    /**
+     * Círculo de centro (cx, cy) y radio r que se desplaza (dx, dy) contra el AABB dado.
+     * Solo cuenta impactos en los que la bola se acerca a la superficie (d · n &lt; 0);
+     * así una bola que acaba de rebotar no vuelve a chocar con lo mismo.
+     *
+     * @return true si hay impacto dentro del desplazamiento; el resultado queda en out.
+     */
+    public static boolean circuloContraAabb(float cx, float cy, float r, float dx, float dy,
+                                            float minX, float minY, float maxX, float maxY,
+                                            Impacto out) {
+        // 1) Solape inicial: impacto en t = 0 con la normal de menor penetración
+        float px = clamp(cx, minX, maxX);
+        float py = clamp(cy, minY, maxY);
+        float ox = cx - px, oy = cy - py;
+        float d2 = ox * ox + oy * oy;
+        if (d2 <= r * r) {
+            float nx, ny;
+            if (d2 > 1e-6f) {
+                float inv = 1f / (float) Math.sqrt(d2);
+                nx = ox * inv;
+                ny = oy * inv;
+            } else {
+                // Centro dentro del AABB: salir por la cara más cercana
+                float izq = cx - minX, der = maxX - cx, abj = cy - minY, arr = maxY - cy;
+                float m = Math.min(Math.min(izq, der), Math.min(abj, arr));
+                if (m == izq) { nx = -1f; ny = 0f; }
+                else if (m == der) { nx = 1f; ny = 0f; }
+                else if (m == abj) { nx = 0f; ny = -1f; }
+                else { nx = 0f; ny = 1f; }
+            }
+            if (dx * nx + dy * ny >= 0f) return false;
+            out.set(0f, nx, ny);
+            return true;
+        }
+
+        // 2) Rayo del centro contra el AABB inflado en r (slab test)
+        float eMinX = minX - r, eMaxX = maxX + r, eMinY = minY - r, eMaxY = maxY + r;
+        float tEntrada = 0f, tSalida = 1f;
+        int eje = -1;
+        if (dx == 0f) {
+            if (cx < eMinX || cx > eMaxX) return false;
+        } else {
+            float inv = 1f / dx;
+            float t1 = (eMinX - cx) * inv, t2 = (eMaxX - cx) * inv;
+            if (t1 > t2) { float tmp = t1; t1 = t2; t2 = tmp; }
+            if (t1 > tEntrada) { tEntrada = t1; eje = 0; }
+            if (t2 < tSalida) tSalida = t2;
+            if (tEntrada > tSalida) return false;
+        }
+        if (dy == 0f) {
+            if (cy < eMinY || cy > eMaxY) return false;
+        } else {
+            float inv = 1f / dy;
+            float t1 = (eMinY - cy) * inv, t2 = (eMaxY - cy) * inv;
+            if (t1 > t2) { float tmp = t1; t1 = t2; t2 = tmp; }
+            if (t1 > tEntrada) { tEntrada = t1; eje = 1; }
+            if (t2 < tSalida) tSalida = t2;
+            if (tEntrada > tSalida) return false;
+        }
+
+        // 3) ¿El punto de entrada cae frente a una cara o en la zona redondeada de una esquina?
+        float hx = cx + dx * tEntrada;
+        float hy = cy + dy * tEntrada;
+        boolean frenteX = hx >= minX && hx <= maxX;
+        boolean frenteY = hy >= minY && hy <= maxY;
+        if (eje >= 0 && (frenteX || frenteY)) {
+            if (eje == 0) out.set(tEntrada, dx > 0f ? -1f : 1f, 0f);
+            else out.set(tEntrada, 0f, dy > 0f ? -1f : 1f);
+            return true;
+        }
+
+        // 4) Esquina: rayo contra el círculo de radio r centrado en la esquina más cercana
+        float ex = hx < minX ? minX : (hx > maxX ? maxX : (dx > 0f ? minX : maxX));
+        float ey = hy < minY ? minY : (hy > maxY ? maxY : (dy > 0f ? minY : maxY));
+        float fx = cx - ex, fy = cy - ey;
+        float a = dx * dx + dy * dy;
+        if (a == 0f) return false;
+        float b = fx * dx + fy * dy;
+        float c = fx * fx + fy * fy - r * r;
+        float disc = b * b - a * c;
+        if (b >= 0f || disc < 0f) return false;
+        float t = (-b - (float) Math.sqrt(disc)) / a;
+        if (t < 0f || t > 1f) return false;
+        float nx = (fx + dx * t) / r;
+        float ny = (fy + dy * t) / r;
+        out.set(t, nx, ny);
+        return true;
+    }
+
+    private static float clamp(float v, float a, float b) {
+        if (v < a) return a;
+        if (v > b) return b;
+        return v;
+    }
+}
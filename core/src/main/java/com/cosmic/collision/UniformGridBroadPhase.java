@@ -0,0 +1,108 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Broadphase de grilla uniforme: cada celda guarda los ids cuyos AABB la tocan.
+ * Ideal para campos densos de bloques del mismo tamaño, como los que genera
+ * DefaultBlockFactory.
+ */
+public class UniformGridBroadPhase extends AbstractBroadPhase {
+
+    private final float tamCelda;
+    private int cols;
+    private int filas;
+    private IntArray[] celdas = new IntArray[0];
+
+    // Marca por id para no repetir un id que ocupa varias celdas en la misma consulta
+    private int[] marca = new int[64];
+    private int consultaActual;
+
+    public UniformGridBroadPhase(float tamCelda) {
+        if (tamCelda <= 0f) throw new IllegalArgumentException("tamCelda debe ser > 0");
+        this.tamCelda = tamCelda;
+    }
+
+    @Override
+    public void reiniciar(float anchoMundo, float altoMundo) {
+        super.reiniciar(anchoMundo, altoMundo);
+        cols = Math.max(1, (int) Math.ceil(this.anchoMundo / tamCelda));
+        filas = Math.max(1, (int) Math.ceil(this.altoMundo / tamCelda));
+        int n = cols * filas;
+        if (celdas.length < n) {
+            IntArray[] nuevas = Arrays.copyOf(celdas, n);
+            for (int i = celdas.length; i < n; i++) nuevas[i] = new IntArray(8);
+            celdas = nuevas;
+        }
+        for (int i = 0; i < n; i++) celdas[i].clear();
+    }
+
+    @Override
+    public void insertar(int id, float x, float y, float ancho, float alto) {
+        quitar(id);
+        super.insertar(id, x, y, ancho, alto);
+        int c0 = col(minX[id]), c1 = col(maxX[id]);
+        int f0 = fila(minY[id]), f1 = fila(maxY[id]);
+        for (int f = f0; f <= f1; f++) {
+            for (int c = c0; c <= c1; c++) {
+                celdas[f * cols + c].add(id);
+            }
+        }
+    }
+
+    @Override
+    public void quitar(int id) {
+        if (id < 0 || id >= activo.length || !activo[id]) return;
+        int c0 = col(minX[id]), c1 = col(maxX[id]);
+        int f0 = fila(minY[id]), f1 = fila(maxY[id]);
+        for (int f = f0; f <= f1; f++) {
+            for (int c = c0; c <= c1; c++) {
+                celdas[f * cols + c].removeValue(id);
+            }
+        }
+        super.quitar(id);
+    }
+
+    @Override
+    public int consultar(float qMinX, float qMinY, float qMaxX, float qMaxY, IntArray salida) {
+        if (++consultaActual == Integer.MAX_VALUE) {
+            Arrays.fill(marca, 0);
+            consultaActual = 1;
+        }
+        int desde = salida.size;
+        int c0 = col(qMinX), c1 = col(qMaxX);
+        int f0 = fila(qMinY), f1 = fila(qMaxY);
+        for (int f = f0; f <= f1; f++) {
+            for (int c = c0; c <= c1; c++) {
+                IntArray celda = celdas[f * cols + c];
+                int[] ids = celda.items;
+                for (int i = 0, n = celda.size; i < n; i++) {
+                    int id = ids[i];
+                    if (marca[id] == consultaActual) continue;
+                    marca[id] = consultaActual;
+                    if (solapa(id, qMinX, qMinY, qMaxX, qMaxY)) salida.add(id);
+                }
+            }
+        }
+        ordenarTramo(salida, desde);
+        return salida.size - desde;
+    }
+
+    @Override
+    protected void asegurarCapacidad(int n) {
+        super.asegurarCapacidad(n);
+        if (marca.length < activo.length) marca = Arrays.copyOf(marca, activo.length);
+    }
+
+    private int col(float x) {
+        int c = (int) Math.floor(x / tamCelda);
+        return c < 0 ? 0 : (c >= cols ? cols - 1 : c);
+    }
+
+    private int fila(float y) {
+        int f = (int) Math.floor(y / tamCelda);
+        return f < 0 ? 0 : (f >= filas ? filas - 1 : f);
+    }
+}
@@ -0,0 +1,33 @@
+package com.cosmic.collision;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Lo que el mundo necesita de afuera: tamaño del área de juego y controles.
+ * GameWorld no lee Gdx.graphics ni Gdx.input directamente (y el tiempo es su
+ * propio GameClock), así que puede correr sin contexto GL (simulaciones,
+ * servidores de build).
+ */
+public final class WorldContext {
+
+    private final int ancho;
+    private final int alto;
+    private final InputSource entrada;
+
+    public WorldContext(int ancho, int alto, InputSource entrada) {
+        if (ancho <= 0 || alto <= 0) throw new IllegalArgumentException("tamaño de mundo debe ser > 0");
+        if (entrada == null) throw new IllegalArgumentException("entrada es obligatoria");
+        this.ancho = ancho;
+        this.alto = alto;
+        this.entrada = entrada;
+    }
+
+    /** Tamaño actual de la ventana y teclado. */
+    public static WorldContext desdeGdx() {
+        return new WorldContext(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), InputSource.TECLADO);
+    }
+
+    public int getAncho() { return ancho; }
+    public int getAlto() { return alto; }
+    public InputSource getEntrada() { return entrada; }
+}
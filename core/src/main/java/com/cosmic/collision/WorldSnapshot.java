@@ -0,0 +1,88 @@
+package com.cosmic.collision;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Codec binario versionado del estado completo de un GameWorld: bolas, campo,
+ * power-ups, efectos con su tiempo restante, paleta, marcador y generadores.
+ * Escribe en un ByteBuffer propio que se reutiliza entre capturas (solo crece),
+ * así que capturar y restaurar no crean objetos salvo los power-ups del pool.
+ *
+ * Sirve para guardar y retomar una partida y para clonar mundos (búsqueda
+ * anticipada en simulaciones). Texturas, HUD, fábrica y contexto no se guardan:
+ * son los del mundo destino.
+ *
+ * Formato: MAGIA (int), VERSION (short), largo del cuerpo (int), cuerpo.
+ */
+public final class WorldSnapshot {
+
+    public static final int MAGIA = 0x4343534E; // "CCSN"
+    public static final short VERSION = 2;
+    private static final int TAMANO_CABECERA = 4 + 2 + 4;
+
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+    /** Captura el estado del mundo; devuelve el buffer interno listo para leer. */
+    public ByteBuffer guardar(GameWorld mundo) {
+        int necesario = TAMANO_CABECERA + mundo.tamanoEstado();
+        if (buffer.capacity() < necesario) {
+            buffer = ByteBuffer.allocate(Math.max(necesario, buffer.capacity() * 2));
+        }
+        buffer.clear();
+        buffer.putInt(MAGIA).putShort(VERSION).putInt(0);
+        mundo.escribirEstado(buffer);
+        buffer.putInt(6, buffer.position() - TAMANO_CABECERA);
+        buffer.flip();
+        return buffer;
+    }
+
+    /** Vuelve a aplicar la última captura a un mundo (el mismo u otro). */
+    public void restaurar(GameWorld mundo) {
+        buffer.position(0);
+        restaurar(buffer, mundo);
+    }
+
+    /** Aplica una captura leída desde datos (posición al inicio de la cabecera). */
+    public static void restaurar(ByteBuffer datos, GameWorld mundo) {
+        if (datos.remaining() < TAMANO_CABECERA || datos.getInt() != MAGIA) {
+            throw new IllegalArgumentException("no es un snapshot de Cosmic Collision");
+        }
+        short version = datos.getShort();
+        if (version != VERSION) throw new IllegalArgumentException("versión de snapshot no soportada: " + version);
+        int largo = datos.getInt();
+        if (datos.remaining() < largo) throw new IllegalArgumentException("snapshot truncado");
+        mundo.leerEstado(datos);
+    }
+
+    /** Copia el estado de origen en destino pasando por el buffer interno. */
+    public void clonar(GameWorld origen, GameWorld destino) {
+        guardar(origen);
+        restaurar(destino);
+    }
+
+    /** Guarda la partida en un archivo (salir y retomar más tarde). */
+    public void guardarEnArchivo(GameWorld mundo, Path archivo) throws IOException {
+        ByteBuffer datos = guardar(mundo);
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (datos.hasRemaining()) canal.write(datos);
+        }
+    }
+
+    /** Carga una partida guardada en el mundo. */
+    public void cargarDeArchivo(Path archivo, GameWorld mundo) throws IOException {
+        int largo = (int) Files.size(archivo);
+        if (buffer.capacity() < largo) buffer = ByteBuffer.allocate(largo);
+        buffer.clear();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            while (buffer.position() < largo && canal.read(buffer) >= 0) { }
+        }
+        buffer.flip();
+        restaurar(buffer, mundo);
+    }
+}
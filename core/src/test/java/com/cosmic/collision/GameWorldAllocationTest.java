@@ -0,0 +1,112 @@
+package com.cosmic.collision;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Regresión de basura cero: en régimen, GameWorld.actualizar() no debe asignar
+ * memoria. Se mide con ThreadMXBean tick por tick después de calentar; solo se
+ * descartan los ticks en que cambia el nivel, porque cargar un nivel sí arma
+ * bloques nuevos, y los que llevan a un récord de bolas o de power-ups creados
+ * (en caída más libres en el pool), porque ahí crecen sus arreglos o el pool crea
+ * uno nuevo (una vez por tamaño, nunca en régimen).
+ *
+ * Gradle lo corre aparte y en el intérprete (tarea allocationTest, -Xint): sin
+ * JIT no hay análisis de escape que esconda un new ni desoptimizaciones que
+ * asignen por su cuenta. Si se corre con JIT (desde el IDE) calienta mucho más,
+ * hasta que el compilador se estabiliza, y conviene -XX:-DoEscapeAnalysis.
+ */
+public class GameWorldAllocationTest {
+
+    private static final int ANCHO_MUNDO = 1280;
+    private static final int ALTO_MUNDO = 720;
+    private static final int TICKS_CALENTAMIENTO = 20000;
+    private static final int TICKS_CALENTAMIENTO_JIT = 200000;
+    private static final int TICKS_MEDIDOS = 20000;
+    private static final int TICKS_VALIDOS_MINIMOS = 10000;
+
+    private final com.sun.management.ThreadMXBean hilos =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void tickMediaNoAsigna() {
+        medir(Dificultad.MEDIA, false, 0);
+    }
+
+    @Test
+    public void tickDificilConBolaExplosivaNoAsigna() {
+        medir(Dificultad.DIFICIL, true, 0);
+    }
+
+    @Test
+    public void tickMultibolaNoAsigna() {
+        medir(Dificultad.MEDIA, false, 500);
+    }
+
+    /**
+     * Corre un mundo con piloto automático y exige 0 bytes en cada tick válido.
+     * explosiva renueva la bola explosiva y bolas repone la multibola entre ticks
+     * (fuera de la medición).
+     */
+    private void medir(Dificultad dificultad, boolean explosiva, int bolas) {
+        assumeTrue(hilos.isThreadAllocatedMemorySupported());
+        hilos.setThreadAllocatedMemoryEnabled(true);
+
+        AutopilotInput piloto = new AutopilotInput();
+        GameWorld mundo = new GameWorld(new DefaultBlockFactory(null, null, null, null), null,
+                new DifficultySettings(dificultad), 1500, null,
+                new WorldContext(ANCHO_MUNDO, ALTO_MUNDO, piloto));
+        piloto.setMundo(mundo);
+
+        // Calentamiento y medición son el mismo bucle: con JIT, compilarlo a mitad de la
+        // medición (OSR) también asigna
+        boolean conJit = ManagementFactory.getCompilationMXBean() != null;
+        int calentamiento = conJit ? TICKS_CALENTAMIENTO_JIT : TICKS_CALENTAMIENTO;
+        long hilo = Thread.currentThread().getId();
+        int validos = 0;
+        int conBasura = 0;
+        int primero = -1;
+        long maximo = 0;
+        long semilla = 0;
+        int recordBolas = mundo.getCantidadBolas();
+        int recordPowerUps = powerUpsCreados(mundo);
+        for (int t = 0; t < calentamiento + TICKS_MEDIDOS; t++) {
+            mantenerCarga(mundo, explosiva, bolas);
+            int nivel = mundo.getNivel();
+            long antes = hilos.getThreadAllocatedBytes(hilo);
+            mundo.actualizar();
+            long bytes = hilos.getThreadAllocatedBytes(hilo) - antes;
+            boolean record = mundo.getCantidadBolas() > recordBolas || powerUpsCreados(mundo) > recordPowerUps;
+            recordBolas = Math.max(recordBolas, mundo.getCantidadBolas());
+            recordPowerUps = Math.max(recordPowerUps, powerUpsCreados(mundo));
+            if (t >= calentamiento && mundo.getNivel() == nivel && !record) {
+                validos++;
+                if (bytes != 0) {
+                    if (conBasura++ == 0) {
+                        primero = t - calentamiento;
+                        semilla = mundo.getSemilla();
+                    }
+                    maximo = Math.max(maximo, bytes);
+                }
+            }
+            if (mundo.getVidas() <= 0) mundo.iniciarJuego();
+        }
+        assertTrue("muy pocos ticks sin cambio de nivel ni récord: " + validos, validos >= TICKS_VALIDOS_MINIMOS);
+        assertEquals("ticks que asignaron memoria en régimen (el primero en " + primero + ", partida con semilla "
+                + semilla + ", hasta " + maximo + " bytes)", 0, conBasura);
+    }
+
+    private static int powerUpsCreados(GameWorld mundo) {
+        return mundo.getPowerUps().size + mundo.getPowerUpsLibres();
+    }
+
+    private static void mantenerCarga(GameWorld mundo, boolean explosiva, int bolas) {
+        if (explosiva && !mundo.isBolaExplosivaActiva()) mundo.activarPowerUp(PowerUpType.EXPLOSIVE_BALL);
+        if (bolas > 0 && mundo.getCantidadBolas() < bolas / 2) mundo.lanzarRafaga(bolas - mundo.getCantidadBolas());
+    }
+}
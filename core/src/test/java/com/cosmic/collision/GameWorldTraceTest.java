@@ -0,0 +1,126 @@
+package com.cosmic.collision;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Comparación determinista contra trazas grabadas: cada escenario corre con
+ * semilla y entrada fijas y acumula en un solo valor el hashEstado() de cada tick
+ * (bolas, paleta, campo, power-ups, puntaje, vidas y nivel) más los drops que
+ * avisa el Listener. Cualquier cambio en la resolución de impactos, el orden de
+ * las detonaciones o los sorteos cambia el valor.
+ *
+ * Si un cambio de reglas es a propósito, se vuelven a grabar con el valor que
+ * informa la falla.
+ */
+public class GameWorldTraceTest {
+
+    private static final int ANCHO_MUNDO = 1280;
+    private static final int ALTO_MUNDO = 720;
+
+    @Test
+    public void trazaMedia() {
+        Traza t = new Traza(Dificultad.MEDIA, 11L);
+        t.correr(30000);
+        assertEquals(t.resumen(), 6513697650354016662L, t.valor);
+    }
+
+    /** Bola explosiva sostenida con reacción en cadena y tope de dos detonaciones por tick. */
+    @Test
+    public void trazaDificilExplosivaEnCadena() {
+        Traza t = new Traza(Dificultad.DIFICIL, 12L);
+        t.mundo.setReaccionEnCadena(true);
+        t.mundo.setMaxDetonacionesPorTick(2);
+        t.explosiva = true;
+        t.correr(20000);
+        assertEquals(t.resumen(), -558146734392244151L, t.valor);
+    }
+
+    @Test
+    public void trazaMultibola() {
+        Traza t = new Traza(Dificultad.MEDIA, 13L);
+        t.mundo.lanzarRafaga(200);
+        t.correr(10000);
+        assertEquals(t.resumen(), 2046208972156056842L, t.valor);
+    }
+
+    /** Un mundo sin ventana, su guion de entrada y el valor acumulado de la traza. */
+    private static final class Traza implements InputSource, GameWorld.Listener {
+        final GameWorld mundo;
+        boolean explosiva;
+        long valor = 0xcbf29ce484222325L;
+        int ticks;
+        int drops;
+
+        Traza(Dificultad dificultad, long semilla) {
+            mundo = new GameWorld(new DefaultBlockFactory(null, null, null, null), null,
+                    new DifficultySettings(dificultad), 1500, null,
+                    new WorldContext(ANCHO_MUNDO, ALTO_MUNDO, this));
+            mundo.setListener(this);
+            mundo.iniciarJuego(semilla);
+        }
+
+        void correr(int maxTicks) {
+            for (ticks = 0; ticks < maxTicks && mundo.getVidas() > 0; ticks++) {
+                if (explosiva && !mundo.isBolaExplosivaActiva()) mundo.activarPowerUp(PowerUpType.EXPLOSIVE_BALL);
+                mundo.actualizar();
+                valor = mezclar(valor, mundo.hashEstado());
+            }
+        }
+
+        String resumen() {
+            return "ticks " + ticks + ", nivel " + mundo.getNivel() + ", puntaje " + mundo.getPuntaje()
+                    + ", vidas " + mundo.getVidas() + ", drops " + drops + "; valor grabado";
+        }
+
+        /**
+         * Guion: la paleta sigue a la bola que baja más cerca de ella, con un
+         * desvío que cambia cada 5 s para variar los ángulos, y lanza siempre.
+         */
+        private float objetivo() {
+            BallSystem bolas = mundo.getBolas();
+            float x = -1f, y = Float.MAX_VALUE;
+            for (int i = 0; i < bolas.size(); i++) {
+                if (bolas.getVelY(i) < 0 && bolas.getPy(i) < y) {
+                    y = bolas.getPy(i);
+                    x = bolas.getPx(i);
+                }
+            }
+            if (x < 0f) return x;
+            return x + ((ticks / 600) % 5 - 2) * 18f;
+        }
+
+        private float centroPaleta() {
+            Plataforma p = mundo.getPaleta();
+            return p.getX() + p.getAncho() / 2f;
+        }
+
+        @Override public boolean izquierda() {
+            float x = objetivo();
+            return x >= 0f && x < centroPaleta() - 8f;
+        }
+
+        @Override public boolean derecha() {
+            float x = objetivo();
+            return x >= 0f && x > centroPaleta() + 8f;
+        }
+
+        @Override public boolean lanzar() { return true; }
+
+        @Override public void alSoltarPowerUp(PowerUpType tipo, int nivel) {
+            drops++;
+            valor = mezclar(valor, ((long) ticks << 16) | (nivel << 4) | tipo.ordinal());
+        }
+
+        @Override public void alRecogerPowerUp(PowerUpType tipo, int nivel) { }
+        @Override public void alCompletarNivel(int nivel, boolean vidaExtra) { }
+        @Override public void alPerderVida(int vidasRestantes) { }
+
+        private static long mezclar(long h, long v) {
+            h ^= v;
+            h *= 0x100000001b3L;
+            return h ^ (h >>> 29);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.cosmic.collision.headless;
+
+import com.cosmic.collision.DefaultBlockFactory;
+import com.cosmic.collision.Dificultad;
+import com.cosmic.collision.DifficultySettings;
+import com.cosmic.collision.GameWorld;
+import com.cosmic.collision.WorldContext;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Simulador Monte Carlo de balance: juega N partidas por dificultad repartidas
+ * en todos los núcleos, con la paleta manejada por TrackingInput, y escribe un
+ * CSV con la distribución de niveles alcanzados, ticks por nivel, frecuencia
+ * de cada power-up soltado y tasa de vida extra.
+ *
+ * Cada tarea simula un lote de partidas con su propio mundo, reloj e input; no
+ * hay estado compartido entre mundos salvo los contadores (LongAdder).
+ * La semilla de cada partida depende solo de la semilla base, la dificultad y el
+ * número de partida, así que el CSV es el mismo con cualquier cantidad de hilos.
+ *
+ * Uso: BalanceSimulator [--partidas N] [--max-ticks T] [--hilos H] [--semilla S]
+ *                       [--reaccion PX] [--dificultades FACIL,MEDIA] [--salida archivo.csv]
+ */
+public class BalanceSimulator {
+
+    private static final float FRECUENCIA_TICK_HZ = 120f;
+    private static final int ANCHO_MUNDO = 1280;
+    private static final int ALTO_MUNDO = 720;
+    private static final int PARTIDAS_POR_LOTE = 64;
+    private static final String USO = "uso: BalanceSimulator [--partidas N] [--max-ticks T] [--hilos H] [--semilla S]"
+            + " [--reaccion PX] [--dificultades FACIL,MEDIA] [--salida archivo.csv]";
+
+    private final int partidas;
+    private final long maxTicks;
+    private final float alturaReaccion;
+    private final long semillaBase;
+
+    public BalanceSimulator(int partidas, long maxTicks, float alturaReaccion, long semillaBase) {
+        this.partidas = partidas;
+        this.maxTicks = maxTicks;
+        this.alturaReaccion = alturaReaccion;
+        this.semillaBase = semillaBase;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int partidas = 10000;
+        long maxTicks = 120L * 60 * 10; // 10 min de juego por partida como máximo
+        int hilos = Runtime.getRuntime().availableProcessors();
+        float reaccion = 350f;
+        long semilla = 1L;
+        String salida = null;
+        List<Dificultad> dificultades = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i += 2) {
+            // Todas las opciones llevan valor: una suelta al final no se ignora
+            if (i + 1 == args.length) throw new IllegalArgumentException("falta el valor de " + args[i] + "\n" + USO);
+            String valor = args[i + 1];
+            switch (args[i]) {
+                case "--partidas": partidas = Integer.parseInt(valor); break;
+                case "--max-ticks": maxTicks = Long.parseLong(valor); break;
+                case "--hilos": hilos = Integer.parseInt(valor); break;
+                case "--reaccion": reaccion = Float.parseFloat(valor); break;
+                case "--semilla": semilla = Long.parseLong(valor); break;
+                case "--salida": salida = valor; break;
+                case "--dificultades":
+                    for (String d : valor.split(",")) dificultades.add(Dificultad.valueOf(d.trim().toUpperCase()));
+                    break;
+                default: throw new IllegalArgumentException("opción desconocida: " + args[i] + "\n" + USO);
+            }
+        }
+        if (dificultades.isEmpty()) {
+            for (Dificultad d : Dificultad.values()) dificultades.add(d);
+        }
+
+        BalanceSimulator sim = new BalanceSimulator(partidas, maxTicks, reaccion, semilla);
+        long inicio = System.nanoTime();
+        Map<Dificultad, BalanceStats> stats = sim.simular(dificultades, Math.max(1, hilos));
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        PrintStream out = salida != null ? abrir(salida) : System.out;
+        out.append("dificultad,metrica,nivel,tipo,valor\n");
+        long ticks = 0;
+        for (BalanceStats s : stats.values()) {
+            s.escribirCsv(out);
+            ticks += s.getTicks();
+        }
+        out.flush();
+        if (out != System.out) out.close();
+        System.err.printf("%d partidas, %d ticks en %.1fs (%.0f ticks/s, %d hilos)%n",
+                partidas * dificultades.size(), ticks, segundos, ticks / Math.max(segundos, 1e-9), hilos);
+    }
+
+    private static PrintStream abrir(String ruta) throws FileNotFoundException {
+        return new PrintStream(new java.io.FileOutputStream(ruta));
+    }
+
+    /** Reparte las partidas de cada dificultad en lotes sobre un pool de hilos fijo. */
+    public Map<Dificultad, BalanceStats> simular(List<Dificultad> dificultades, int hilos) throws Exception {
+        Map<Dificultad, BalanceStats> stats = new EnumMap<>(Dificultad.class);
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (Dificultad d : dificultades) {
+                BalanceStats s = new BalanceStats(d);
+                stats.put(d, s);
+                for (int desde = 0; desde < partidas; desde += PARTIDAS_POR_LOTE) {
+                    int primera = desde;
+                    int cantidad = Math.min(PARTIDAS_POR_LOTE, partidas - desde);
+                    tareas.add(pool.submit(() -> simularLote(d, s, primera, cantidad)));
+                }
+            }
+            for (Future<?> f : tareas) f.get();
+        } finally {
+            pool.shutdown();
+        }
+        return stats;
+    }
+
+    /** Semilla de la partida número indice de una dificultad. */
+    public long semillaDe(Dificultad dificultad, int indice) {
+        long n = (long) dificultad.ordinal() * partidas + indice;
+        return new SplittableRandom(semillaBase + n * 0x9E3779B97F4A7C15L).nextLong();
+    }
+
+    private void simularLote(Dificultad dificultad, BalanceStats stats, int primera, int cantidad) {
+        TrackingInput entrada = new TrackingInput(alturaReaccion);
+        GameWorld mundo = new GameWorld(new DefaultBlockFactory(null, null, null, null), null,
+                new DifficultySettings(dificultad), 1500, null,
+                new WorldContext(ANCHO_MUNDO, ALTO_MUNDO, entrada));
+        mundo.setFrecuenciaTick(FRECUENCIA_TICK_HZ);
+        entrada.setMundo(mundo);
+        BalanceStats.Registro registro = stats.nuevoRegistro();
+        mundo.setListener(registro);
+
+        for (int p = primera; p < primera + cantidad; p++) {
+            registro.reiniciar();
+            mundo.iniciarJuego(semillaDe(dificultad, p));
+            long t = 0;
+            while (mundo.getVidas() > 0 && t < maxTicks) {
+                registro.tick();
+                mundo.actualizar();
+                t++;
+            }
+            registro.terminar(mundo.getNivel(), mundo.getVidas() > 0);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.cosmic.collision.headless;
+
+import com.cosmic.collision.Dificultad;
+import com.cosmic.collision.GameWorld;
+import com.cosmic.collision.PowerUpType;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de una dificultad compartidos por todos los hilos del simulador.
+ * Son LongAdder (celdas repartidas por hilo), así que sumar desde muchos mundos
+ * a la vez no contiende en una sola variable. Los niveles por encima de
+ * MAX_NIVEL se acumulan en el último casillero.
+ */
+public final class BalanceStats {
+
+    public static final int MAX_NIVEL = 32;
+    private static final PowerUpType[] TIPOS = PowerUpType.values();
+
+    private final Dificultad dificultad;
+    private final LongAdder partidas = new LongAdder();
+    private final LongAdder partidasCortadas = new LongAdder();
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder vidasPerdidas = new LongAdder();
+    private final LongAdder[] nivelAlcanzado = adders(MAX_NIVEL + 1);
+    private final LongAdder[] nivelesCompletados = adders(MAX_NIVEL + 1);
+    private final LongAdder[] ticksEnNivel = adders(MAX_NIVEL + 1);
+    private final LongAdder[] vidasExtra = adders(MAX_NIVEL + 1);
+    private final LongAdder[] soltados = adders((MAX_NIVEL + 1) * TIPOS.length);
+    private final LongAdder[] recogidos = adders((MAX_NIVEL + 1) * TIPOS.length);
+
+    public BalanceStats(Dificultad dificultad) {
+        this.dificultad = dificultad;
+    }
+
+    private static LongAdder[] adders(int n) {
+        LongAdder[] a = new LongAdder[n];
+        for (int i = 0; i < n; i++) a[i] = new LongAdder();
+        return a;
+    }
+
+    private static int casillero(int nivel) {
+        return Math.max(1, Math.min(MAX_NIVEL, nivel));
+    }
+
+    /** Un observador por mundo: anota los eventos de la partida en curso. */
+    public Registro nuevoRegistro() {
+        return new Registro();
+    }
+
+    public final class Registro implements GameWorld.Listener {
+        private long tick;
+        private long inicioNivel;
+
+        /** Llamar al empezar cada partida. */
+        public void reiniciar() {
+            tick = 0;
+            inicioNivel = 0;
+        }
+
+        /** Llamar antes de cada tick simulado. */
+        public void tick() {
+            tick++;
+        }
+
+        /** Cierra la partida: nivel en el que terminó y si se cortó por el tope de ticks. */
+        public void terminar(int nivelFinal, boolean cortada) {
+            partidas.increment();
+            if (cortada) partidasCortadas.increment();
+            ticks.add(tick);
+            nivelAlcanzado[casillero(nivelFinal)].increment();
+        }
+
+        @Override
+        public void alSoltarPowerUp(PowerUpType tipo, int nivel) {
+            soltados[casillero(nivel) * TIPOS.length + tipo.ordinal()].increment();
+        }
+
+        @Override
+        public void alRecogerPowerUp(PowerUpType tipo, int nivel) {
+            recogidos[casillero(nivel) * TIPOS.length + tipo.ordinal()].increment();
+        }
+
+        @Override
+        public void alCompletarNivel(int nivel, boolean vidaExtra) {
+            int n = casillero(nivel);
+            nivelesCompletados[n].increment();
+            ticksEnNivel[n].add(tick - inicioNivel);
+            if (vidaExtra) vidasExtra[n].increment();
+            inicioNivel = tick;
+        }
+
+        @Override
+        public void alPerderVida(int vidasRestantes) {
+            vidasPerdidas.increment();
+        }
+    }
+
+    public long getPartidas() { return partidas.sum(); }
+    public long getTicks() { return ticks.sum(); }
+
+    /**
+     * Filas CSV dificultad,metrica,nivel,tipo,valor. Solo se escriben niveles y
+     * tipos con datos; las frecuencias de drop son la fracción de cada tipo
+     * entre los drops de ese nivel.
+     */
+    public void escribirCsv(PrintStream out) {
+        long p = partidas.sum();
+        fila(out, "partidas", "", "", Long.toString(p));
+        fila(out, "partidas_cortadas", "", "", Long.toString(partidasCortadas.sum()));
+        fila(out, "ticks_por_partida", "", "", decimal(ticks.sum(), p));
+        fila(out, "vidas_perdidas_por_partida", "", "", decimal(vidasPerdidas.sum(), p));
+        for (int n = 1; n <= MAX_NIVEL; n++) {
+            String nivel = Integer.toString(n);
+            long alcanzado = nivelAlcanzado[n].sum();
+            if (alcanzado > 0) fila(out, "nivel_final", nivel, "", Long.toString(alcanzado));
+            long completados = nivelesCompletados[n].sum();
+            if (completados > 0) {
+                fila(out, "completados", nivel, "", Long.toString(completados));
+                fila(out, "ticks_por_nivel", nivel, "", decimal(ticksEnNivel[n].sum(), completados));
+                fila(out, "tasa_vida_extra", nivel, "", decimal(vidasExtra[n].sum(), completados));
+            }
+            long totalDrops = 0;
+            for (int t = 0; t < TIPOS.length; t++) totalDrops += soltados[n * TIPOS.length + t].sum();
+            if (totalDrops == 0) continue;
+            for (int t = 0; t < TIPOS.length; t++) {
+                long d = soltados[n * TIPOS.length + t].sum();
+                long r = recogidos[n * TIPOS.length + t].sum();
+                if (d == 0 && r == 0) continue;
+                fila(out, "drops", nivel, TIPOS[t].name(), Long.toString(d));
+                fila(out, "frecuencia_drop", nivel, TIPOS[t].name(), decimal(d, totalDrops));
+                fila(out, "recogidos", nivel, TIPOS[t].name(), Long.toString(r));
+            }
+        }
+    }
+
+    private void fila(PrintStream out, String metrica, String nivel, String tipo, String valor) {
+        out.append(dificultad.name()).append(',').append(metrica).append(',')
+                .append(nivel).append(',').append(tipo).append(',').append(valor).append('\n');
+    }
+
+    private static String decimal(long num, long den) {
+        return den == 0 ? "" : String.format(Locale.ROOT, "%.4f", num / (double) den);
+    }
+}
@@ -0,0 +1,81 @@
+package com.cosmic.collision.headless;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+/**
+ * Pausas de GC y pico de heap de un tramo de ejecución, leídos de los MXBeans
+ * de la JVM. Cada colección llega como notificación (en otro hilo) con su
+ * duración; las de colectores concurrentes ("Cycles", "Concurrent") no son
+ * pausas y se ignoran. El pico es la suma de los picos de cada pool del heap
+ * desde iniciar(), así que puede pasarse un poco del pico real conjunto.
+ */
+public final class GcMonitor implements NotificationListener {
+
+    private final List<GarbageCollectorMXBean> colectores = ManagementFactory.getGarbageCollectorMXBeans();
+    private final List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+
+    private volatile long pausas;
+    private volatile long pausaTotalMs;
+    private volatile long pausaMaxMs;
+
+    public GcMonitor() {
+        for (GarbageCollectorMXBean gc : colectores) {
+            if (gc instanceof NotificationEmitter) ((NotificationEmitter) gc).addNotificationListener(this, null, null);
+        }
+    }
+
+    /** Empieza un tramo nuevo: pone en cero las pausas y los picos de los pools. */
+    public synchronized void iniciar() {
+        pausas = 0;
+        pausaTotalMs = 0;
+        pausaMaxMs = 0;
+        for (MemoryPoolMXBean p : pools) {
+            if (p.getType() == MemoryType.HEAP && p.isValid()) p.resetPeakUsage();
+        }
+    }
+
+    public void cerrar() {
+        for (GarbageCollectorMXBean gc : colectores) {
+            if (!(gc instanceof NotificationEmitter)) continue;
+            try {
+                ((NotificationEmitter) gc).removeNotificationListener(this);
+            } catch (javax.management.ListenerNotFoundException ignorada) {
+                // nunca se registró en este colector
+            }
+        }
+    }
+
+    @Override
+    public synchronized void handleNotification(Notification n, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(n.getType())) return;
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) n.getUserData());
+        String nombre = info.getGcName();
+        if (nombre.contains("Cycles") || nombre.contains("Concurrent")) return;
+        long ms = info.getGcInfo().getDuration();
+        pausas++;
+        pausaTotalMs += ms;
+        if (ms > pausaMaxMs) pausaMaxMs = ms;
+    }
+
+    public long getPausas() { return pausas; }
+    public long getPausaTotalMs() { return pausaTotalMs; }
+    public long getPausaMaxMs() { return pausaMaxMs; }
+
+    public long getPicoHeapBytes() {
+        long suma = 0;
+        for (MemoryPoolMXBean p : pools) {
+            if (p.getType() == MemoryType.HEAP && p.isValid()) suma += p.getPeakUsage().getUsed();
+        }
+        return suma;
+    }
+}
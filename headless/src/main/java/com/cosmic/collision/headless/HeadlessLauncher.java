@@ -0,0 +1,69 @@
+package com.cosmic.collision.headless;
+
+import com.cosmic.collision.AutopilotInput;
+import com.cosmic.collision.DefaultBlockFactory;
+import com.cosmic.collision.Dificultad;
+import com.cosmic.collision.DifficultySettings;
+import com.cosmic.collision.GameWorld;
+import com.cosmic.collision.WorldContext;
+
+/**
+ * Corre partidas completas de GameWorld sin ventana ni GL, tan rápido como
+ * permita la CPU. Usa el mismo tick fijo que el juego de escritorio (el reloj
+ * de juego del mundo cuenta ticks, no lee la hora) y el piloto automático del
+ * juego, así que sirve como prueba de resistencia: una partida que llega a
+ * maxTicks con vidas cuenta como sobreviviente.
+ *
+ * Uso: HeadlessLauncher [--anticipar] [dificultad] [partidas] [maxTicksPorPartida] [semilla]
+ * Con semilla, la partida i usa semilla + i y la corrida se puede repetir.
+ * --anticipar enciende la anticipación del piloto (ver AutopilotInput): pasa
+ * más niveles, pero cada tick cuesta entre 30 y 300 veces más, así que los
+ * ticks/s que informa dejan de medir el tick del mundo.
+ */
+public class HeadlessLauncher {
+
+    private static final float FRECUENCIA_TICK_HZ = 120f;
+    private static final int ANCHO_MUNDO = 1280;
+    private static final int ALTO_MUNDO = 720;
+    private static final long DURACION_BONIFICACION_VIDA = 1500;
+
+    public static void main(String[] args) {
+        boolean anticipar = args.length > 0 && args[0].equals("--anticipar");
+        int a = anticipar ? 1 : 0;
+        Dificultad dificultad = args.length > a ? Dificultad.valueOf(args[a].toUpperCase()) : Dificultad.MEDIA;
+        int partidas = args.length > a + 1 ? Integer.parseInt(args[a + 1]) : 100;
+        long maxTicks = args.length > a + 2 ? Long.parseLong(args[a + 2]) : 120L * 60 * 30; // 30 min de juego
+        Long semilla = args.length > a + 3 ? Long.valueOf(args[a + 3]) : null;
+
+        AutopilotInput entrada = new AutopilotInput();
+        WorldContext contexto = new WorldContext(ANCHO_MUNDO, ALTO_MUNDO, entrada);
+        GameWorld mundo = new GameWorld(new DefaultBlockFactory(null, null, null, null), null,
+                new DifficultySettings(dificultad), DURACION_BONIFICACION_VIDA, null, contexto);
+        mundo.setFrecuenciaTick(FRECUENCIA_TICK_HZ);
+        entrada.setMundo(mundo);
+        entrada.setAnticipacion(anticipar);
+
+        long ticksTotales = 0;
+        long sumaNiveles = 0;
+        long sumaPuntaje = 0;
+        int nivelMaximo = 0;
+        int sobrevivientes = 0;
+        long inicio = System.nanoTime();
+        for (int p = 0; p < partidas; p++) {
+            if (semilla != null) mundo.iniciarJuego(semilla + p);
+            else mundo.iniciarJuego();
+            long t = mundo.adelantar(maxTicks);
+            ticksTotales += t;
+            sumaNiveles += mundo.getNivel();
+            sumaPuntaje += mundo.getPuntaje();
+            nivelMaximo = Math.max(nivelMaximo, mundo.getNivel());
+            if (mundo.getVidas() > 0) sobrevivientes++;
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("dificultad=%s anticipacion=%b partidas=%d ticks=%d tiempo=%.2fs ticks/s=%.0f%n",
+                dificultad, anticipar, partidas, ticksTotales, segundos, ticksTotales / Math.max(segundos, 1e-9));
+        System.out.printf("nivel medio=%.2f nivel max=%d puntaje medio=%.1f sobrevivientes=%d/%d%n",
+                sumaNiveles / (double) partidas, nivelMaximo, sumaPuntaje / (double) partidas, sobrevivientes, partidas);
+    }
+}
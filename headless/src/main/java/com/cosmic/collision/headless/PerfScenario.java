@@ -0,0 +1,66 @@
+package com.cosmic.collision.headless;
+
+import com.cosmic.collision.Dificultad;
+
+/**
+ * Escenario de rendimiento reproducible: dificultad, nivel, carga de bolas y
+ * efectos, semilla y duración, más el presupuesto que no debe superar. Los
+ * tiempos del presupuesto son por tick en microsegundos; 0 = sin límite.
+ */
+public final class PerfScenario {
+
+    final String nombre;
+    final Dificultad dificultad;
+    final long semilla;
+    final long ticks;
+
+    int nivel = 1;
+    int bolas;
+    boolean explosiva;
+    boolean faseParalela;
+    long ticksCalentamiento = 1200;
+
+    double p50Us;
+    double p99Us;
+    double p999Us;
+    double maxUs;
+    double pausaGcMaxMs;
+    double heapMaxMb;
+
+    public PerfScenario(String nombre, Dificultad dificultad, long semilla, long ticks) {
+        this.nombre = nombre;
+        this.dificultad = dificultad;
+        this.semilla = semilla;
+        this.ticks = ticks;
+    }
+
+    /** Empieza directo en este nivel (con la progresión de los anteriores). */
+    public PerfScenario nivel(int n) { this.nivel = n; return this; }
+
+    /** Mantiene al menos la mitad de esta cantidad de bolas en juego (ráfagas desde la paleta). */
+    public PerfScenario bolas(int n) { this.bolas = n; return this; }
+
+    /** Bola explosiva activa durante todo el escenario. */
+    public PerfScenario explosiva() { this.explosiva = true; return this; }
+
+    public PerfScenario faseParalela() { this.faseParalela = true; return this; }
+
+    /** Ticks simulados antes de medir (JIT, primeras asignaciones). */
+    public PerfScenario calentamiento(long ticks) { this.ticksCalentamiento = ticks; return this; }
+
+    public PerfScenario presupuestoTick(double p50Us, double p99Us, double p999Us, double maxUs) {
+        this.p50Us = p50Us;
+        this.p99Us = p99Us;
+        this.p999Us = p999Us;
+        this.maxUs = maxUs;
+        return this;
+    }
+
+    public PerfScenario presupuestoMemoria(double pausaGcMaxMs, double heapMaxMb) {
+        this.pausaGcMaxMs = pausaGcMaxMs;
+        this.heapMaxMb = heapMaxMb;
+        return this;
+    }
+
+    public String getNombre() { return nombre; }
+}
@@ -0,0 +1,225 @@
+package com.cosmic.collision.headless;
+
+import com.cosmic.collision.AutopilotInput;
+import com.cosmic.collision.DefaultBlockFactory;
+import com.cosmic.collision.Dificultad;
+import com.cosmic.collision.DifficultySettings;
+import com.cosmic.collision.GameWorld;
+import com.cosmic.collision.PowerUpType;
+import com.cosmic.collision.WorldContext;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Suite de rendimiento de punta a punta: corre escenarios con semilla fija sin
+ * ventana, mide cada GameWorld.actualizar() con su reloj de pared y compara
+ * percentiles por tick, pausas de GC y pico de heap contra el presupuesto de
+ * cada escenario. Sale con código 1 si alguno se pasa, para usarla en CI.
+ *
+ * La paleta la maneja el piloto automático; si una partida se pierde, sigue otra
+ * con la semilla siguiente (la carga del escenario se vuelve a preparar).
+ *
+ * Uso: PerfSuite [--escenarios nombre,nombre] [--escala-presupuesto F] [--salida informe.csv] [--listar]
+ * --escala-presupuesto multiplica todos los límites (máquinas de CI más lentas).
+ */
+public class PerfSuite {
+
+    private static final float FRECUENCIA_TICK_HZ = 120f;
+    private static final int ANCHO_MUNDO = 1280;
+    private static final int ALTO_MUNDO = 720;
+    private static final long TICKS_POR_HORA = 120L * 60 * 60;
+    // Las notificaciones de GC llegan en otro hilo
+    private static final long ESPERA_NOTIFICACIONES_MS = 200;
+
+    /**
+     * Escenarios por defecto. Los presupuestos dejan de 2 a 3 veces de margen sobre
+     * lo medido en un escritorio actual; el máximo es el más ruidoso (planificador
+     * del sistema, JIT), por eso su margen es mayor. p99 de la multibola de 20k es
+     * el paso de un frame a 120 Hz: por encima, el jugador ya lo nota.
+     */
+    public static List<PerfScenario> escenarios() {
+        return Arrays.asList(
+                new PerfScenario("facil-nivel1", Dificultad.FACIL, 1L, 120L * 60)
+                        .presupuestoTick(10, 30, 300, 30000)
+                        .presupuestoMemoria(50, 64),
+                new PerfScenario("dificil-nivel20-multibola5k-explosiva", Dificultad.DIFICIL, 20L, 120L * 60)
+                        .nivel(20).bolas(5000).explosiva()
+                        .presupuestoTick(1500, 4000, 10000, 30000)
+                        .presupuestoMemoria(50, 64),
+                new PerfScenario("media-multibola20k-paralela", Dificultad.MEDIA, 3L, 120L * 30)
+                        .bolas(20000).faseParalela()
+                        .presupuestoTick(4000, 8300, 25000, 50000)
+                        .presupuestoMemoria(50, 64),
+                new PerfScenario("soak-1h-autopiloto", Dificultad.MEDIA, 60L, TICKS_POR_HORA)
+                        .presupuestoTick(5, 20, 100, 20000)
+                        .presupuestoMemoria(50, 64)
+        );
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> elegidos = null;
+        double escala = 1.0;
+        String salida = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--escenarios": elegidos = Arrays.asList(args[++i].split(",")); break;
+                case "--escala-presupuesto": escala = Double.parseDouble(args[++i]); break;
+                case "--salida": salida = args[++i]; break;
+                case "--listar":
+                    for (PerfScenario e : escenarios()) System.out.println(e.getNombre());
+                    return;
+                default: throw new IllegalArgumentException("opción desconocida: " + args[i]);
+            }
+        }
+
+        if (elegidos != null) {
+            List<String> nombres = new ArrayList<>();
+            for (PerfScenario e : escenarios()) nombres.add(e.getNombre());
+            for (String n : elegidos) {
+                if (!nombres.contains(n)) throw new IllegalArgumentException("escenario desconocido: " + n);
+            }
+        }
+
+        List<Resultado> resultados = new ArrayList<>();
+        GcMonitor gc = new GcMonitor();
+        try {
+            for (PerfScenario e : escenarios()) {
+                if (elegidos != null && !elegidos.contains(e.getNombre())) continue;
+                Resultado r = correr(e, gc);
+                r.evaluar(escala);
+                resultados.add(r);
+                System.out.println(r.resumen());
+            }
+        } finally {
+            gc.cerrar();
+        }
+
+        if (salida != null) {
+            try (PrintStream out = abrir(salida)) {
+                out.append("escenario,ticks,partidas,media_us,p50_us,p99_us,p999_us,max_us,pausas_gc,pausa_gc_total_ms,pausa_gc_max_ms,heap_pico_mb,fallas\n");
+                for (Resultado r : resultados) out.append(r.csv()).append('\n');
+            }
+        }
+        int fallidos = 0;
+        for (Resultado r : resultados) if (!r.fallas.isEmpty()) fallidos++;
+        System.out.printf("%d escenarios, %d fuera de presupuesto%n", resultados.size(), fallidos);
+        if (fallidos > 0) System.exit(1);
+    }
+
+    private static PrintStream abrir(String ruta) throws FileNotFoundException {
+        return new PrintStream(new java.io.FileOutputStream(ruta));
+    }
+
+    /** Corre un escenario: calentamiento sin medir y luego un histograma por tick. */
+    static Resultado correr(PerfScenario e, GcMonitor gc) throws InterruptedException {
+        AutopilotInput piloto = new AutopilotInput();
+        GameWorld mundo = new GameWorld(new DefaultBlockFactory(null, null, null, null), null,
+                new DifficultySettings(e.dificultad), 1500, null,
+                new WorldContext(ANCHO_MUNDO, ALTO_MUNDO, piloto));
+        mundo.setFrecuenciaTick(FRECUENCIA_TICK_HZ);
+        piloto.setMundo(mundo);
+        if (e.bolas > 0) mundo.setMaxBolas(Math.max(e.bolas, GameWorld.MAX_BOLAS));
+        mundo.setFaseParalela(e.faseParalela);
+
+        Resultado r = new Resultado(e);
+        long semilla = e.semilla;
+        preparar(mundo, e, semilla);
+        for (long t = 0; t < e.ticksCalentamiento; t++) {
+            mantenerCarga(mundo, e);
+            mundo.actualizar();
+            if (mundo.getVidas() <= 0) preparar(mundo, e, ++semilla);
+        }
+
+        // Sin la basura del calentamiento ni de escenarios anteriores, el pico es el de este escenario
+        System.gc();
+        TickHistogram hist = r.histograma;
+        gc.iniciar();
+        for (long t = 0; t < e.ticks; t++) {
+            mantenerCarga(mundo, e);
+            long inicio = System.nanoTime();
+            mundo.actualizar();
+            hist.registrar(System.nanoTime() - inicio);
+            if (mundo.getVidas() <= 0) {
+                preparar(mundo, e, ++semilla);
+                r.partidas++;
+            }
+        }
+        Thread.sleep(ESPERA_NOTIFICACIONES_MS);
+        r.pausasGc = gc.getPausas();
+        r.pausaGcTotalMs = gc.getPausaTotalMs();
+        r.pausaGcMaxMs = gc.getPausaMaxMs();
+        r.picoHeapBytes = gc.getPicoHeapBytes();
+        return r;
+    }
+
+    private static void preparar(GameWorld mundo, PerfScenario e, long semilla) {
+        mundo.iniciarJuego(semilla);
+        if (e.nivel > 1) mundo.irANivel(e.nivel);
+        mantenerCarga(mundo, e);
+    }
+
+    /** Repone la ráfaga cuando quedan menos de la mitad de las bolas y renueva la bola explosiva. */
+    private static void mantenerCarga(GameWorld mundo, PerfScenario e) {
+        if (e.bolas > 0 && mundo.getCantidadBolas() < e.bolas / 2) {
+            mundo.lanzarRafaga(e.bolas - mundo.getCantidadBolas());
+        }
+        if (e.explosiva && !mundo.isBolaExplosivaActiva()) mundo.activarPowerUp(PowerUpType.EXPLOSIVE_BALL);
+    }
+
+    /** Mediciones de un escenario y los límites que superó. */
+    static final class Resultado {
+        final PerfScenario escenario;
+        final TickHistogram histograma = new TickHistogram();
+        final List<String> fallas = new ArrayList<>();
+        int partidas = 1;
+        long pausasGc;
+        long pausaGcTotalMs;
+        long pausaGcMaxMs;
+        long picoHeapBytes;
+
+        Resultado(PerfScenario escenario) {
+            this.escenario = escenario;
+        }
+
+        void evaluar(double escala) {
+            limite("p50", us(histograma.percentil(0.50)), escenario.p50Us * escala, "us");
+            limite("p99", us(histograma.percentil(0.99)), escenario.p99Us * escala, "us");
+            limite("p99.9", us(histograma.percentil(0.999)), escenario.p999Us * escala, "us");
+            limite("max", us(histograma.getMaxNanos()), escenario.maxUs * escala, "us");
+            limite("pausa GC", pausaGcMaxMs, escenario.pausaGcMaxMs * escala, "ms");
+            limite("heap", mb(picoHeapBytes), escenario.heapMaxMb * escala, "MB");
+        }
+
+        private void limite(String metrica, double valor, double tope, String unidad) {
+            if (tope > 0 && valor > tope) {
+                fallas.add(String.format(Locale.ROOT, "%s %.1f%s > %.1f%s", metrica, valor, unidad, tope, unidad));
+            }
+        }
+
+        String resumen() {
+            return String.format(Locale.ROOT,
+                    "%-40s %s ticks=%d media=%.1fus p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus gc=%d (%dms, max %dms) heap=%.0fMB%s",
+                    escenario.nombre, fallas.isEmpty() ? "OK   " : "FALLA", histograma.getCantidad(),
+                    histograma.getMediaNanos() / 1000.0, us(histograma.percentil(0.50)), us(histograma.percentil(0.99)),
+                    us(histograma.percentil(0.999)), us(histograma.getMaxNanos()),
+                    pausasGc, pausaGcTotalMs, pausaGcMaxMs, mb(picoHeapBytes),
+                    fallas.isEmpty() ? "" : " -> " + String.join("; ", fallas));
+        }
+
+        String csv() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%d,%d,%d,%.1f,\"%s\"",
+                    escenario.nombre, histograma.getCantidad(), partidas, histograma.getMediaNanos() / 1000.0,
+                    us(histograma.percentil(0.50)), us(histograma.percentil(0.99)), us(histograma.percentil(0.999)),
+                    us(histograma.getMaxNanos()), pausasGc, pausaGcTotalMs, pausaGcMaxMs, mb(picoHeapBytes),
+                    String.join("; ", fallas));
+        }
+
+        private static double us(long nanos) { return nanos / 1000.0; }
+        private static double mb(long bytes) { return bytes / (1024.0 * 1024.0); }
+    }
+}
@@ -0,0 +1,110 @@
+package com.cosmic.collision.headless;
+
+import com.cosmic.collision.DefaultBlockFactory;
+import com.cosmic.collision.Dificultad;
+import com.cosmic.collision.DifficultySettings;
+import com.cosmic.collision.GameWorld;
+import com.cosmic.collision.ReplayInput;
+import com.cosmic.collision.ReplayPlayer;
+import com.cosmic.collision.ReplayRecorder;
+import com.cosmic.collision.WorldContext;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Regresión de física contra un corpus de grabaciones: reproduce cada .ccr a
+ * máxima velocidad y falla (código de salida 1) si alguna se desincroniza o se
+ * rechaza (no se puede leer, es de otra versión o está dañada); una grabación
+ * rechazada no corta la verificación de las demás.
+ *
+ * Uso: ReplayVerifier archivo.ccr|directorio...
+ *      ReplayVerifier --grabar directorio partidas [dificultad] [maxTicks]
+ * La segunda forma genera un corpus con el jugador automático.
+ */
+public class ReplayVerifier {
+
+    private static final float FRECUENCIA_TICK_HZ = 120f;
+    private static final int ANCHO_MUNDO = 1280;
+    private static final int ALTO_MUNDO = 720;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args[0].equals("--grabar")) {
+            Dificultad d = args.length > 3 ? Dificultad.valueOf(args[3].toUpperCase()) : Dificultad.MEDIA;
+            long maxTicks = args.length > 4 ? Long.parseLong(args[4]) : 120L * 60 * 5;
+            grabarCorpus(Paths.get(args[1]), Integer.parseInt(args[2]), d, maxTicks);
+            return;
+        }
+        List<Path> archivos = new ArrayList<>();
+        for (String a : args) agregar(Paths.get(a), archivos);
+        Collections.sort(archivos);
+
+        ReplayInput entrada = new ReplayInput();
+        GameWorld mundo = nuevoMundo(Dificultad.MEDIA, entrada);
+        int fallidas = 0;
+        int rechazadas = 0;
+        long ticks = 0;
+        long inicio = System.nanoTime();
+        for (Path p : archivos) {
+            ReplayPlayer r;
+            try {
+                r = ReplayPlayer.abrir(p);
+                r.preparar(mundo, entrada);
+                r.avanzarHastaElFinal();
+            } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+                rechazadas++;
+                System.out.println("RECHAZADA " + p + ": " + e.getMessage());
+                continue;
+            }
+            ticks += r.getTicks();
+            if (r.isDesincronizada()) {
+                fallidas++;
+                System.out.println("DESINCRONIZADA " + p + " tick=" + r.getTickDesincronizado());
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.printf("%d grabaciones, %d desincronizadas, %d rechazadas, %d ticks en %.1fs (%.0fx tiempo real)%n",
+                archivos.size(), fallidas, rechazadas, ticks, segundos,
+                ticks / FRECUENCIA_TICK_HZ / Math.max(segundos, 1e-9));
+        if (fallidas > 0 || rechazadas > 0) System.exit(1);
+    }
+
+    private static void agregar(Path p, List<Path> archivos) throws IOException {
+        if (!Files.isDirectory(p)) {
+            archivos.add(p);
+            return;
+        }
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(p, "*.ccr")) {
+            for (Path f : ds) archivos.add(f);
+        }
+    }
+
+    private static GameWorld nuevoMundo(Dificultad d, com.cosmic.collision.InputSource entrada) {
+        GameWorld mundo = new GameWorld(new DefaultBlockFactory(null, null, null, null), null,
+                new DifficultySettings(d), 1500, null, new WorldContext(ANCHO_MUNDO, ALTO_MUNDO, entrada));
+        mundo.setFrecuenciaTick(FRECUENCIA_TICK_HZ);
+        return mundo;
+    }
+
+    private static void grabarCorpus(Path dir, int partidas, Dificultad d, long maxTicks) throws IOException {
+        Files.createDirectories(dir);
+        TrackingInput entrada = new TrackingInput(350f);
+        GameWorld mundo = nuevoMundo(d, entrada);
+        entrada.setMundo(mundo);
+        for (int p = 0; p < partidas; p++) {
+            mundo.iniciarJuego(p);
+            ReplayRecorder g = ReplayRecorder.abrir(dir.resolve(String.format("%s-%05d.ccr", d, p)), mundo,
+                    ReplayRecorder.INTERVALO_HASH_POR_DEFECTO);
+            mundo.setGrabacion(g);
+            mundo.adelantar(maxTicks);
+            mundo.setGrabacion(null);
+            g.cerrar();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.cosmic.collision.headless;
+
+import com.cosmic.collision.BallSystem;
+import com.cosmic.collision.GameWorld;
+import com.cosmic.collision.InputSource;
+import com.cosmic.collision.Plataforma;
+
+/**
+ * Jugador automático simple: mueve la paleta bajo la bola más baja que esté
+ * bajando y lanza en cuanto puede. No anticipa rebotes; alcanza para que las
+ * partidas sin ventana avancen niveles y pierdan vidas de forma razonable.
+ * Con una altura de reacción, solo sigue bolas que ya bajaron de esa altura
+ * (un jugador que reacciona tarde) y así las partidas terminan antes.
+ */
+public final class TrackingInput implements InputSource {
+
+    // Tolerancia para no oscilar alrededor del objetivo
+    private static final int ZONA_MUERTA_PX = 6;
+
+    private final float alturaReaccion;
+    private GameWorld mundo;
+
+    /** Sigue las bolas a cualquier altura. */
+    public TrackingInput() {
+        this(Float.MAX_VALUE);
+    }
+
+    public TrackingInput(float alturaReaccion) {
+        this.alturaReaccion = alturaReaccion;
+    }
+
+    /** El mundo se crea con este input ya inyectado, así que se enlaza después. */
+    public void setMundo(GameWorld mundo) {
+        this.mundo = mundo;
+    }
+
+    @Override
+    public boolean izquierda() {
+        if (mundo == null) return false;
+        float objetivo = objetivoX();
+        return !Float.isNaN(objetivo) && objetivo < centroPaleta() - ZONA_MUERTA_PX;
+    }
+
+    @Override
+    public boolean derecha() {
+        if (mundo == null) return false;
+        float objetivo = objetivoX();
+        return !Float.isNaN(objetivo) && objetivo > centroPaleta() + ZONA_MUERTA_PX;
+    }
+
+    @Override
+    public boolean lanzar() {
+        return true;
+    }
+
+    private float centroPaleta() {
+        Plataforma p = mundo.getPaleta();
+        return p.getX() + p.getAncho() / 2f;
+    }
+
+    /** X de la bola a seguir, o NaN si ninguna está a la vista (la paleta se queda quieta). */
+    private float objetivoX() {
+        BallSystem bolas = mundo.getBolas();
+        int elegida = -1;
+        for (int i = 0; i < bolas.size(); i++) {
+            if (bolas.getVelY(i) >= 0 || bolas.getPy(i) > alturaReaccion) continue;
+            if (elegida < 0 || bolas.getPy(i) < bolas.getPy(elegida)) elegida = i;
+        }
+        if (elegida < 0) return alturaReaccion == Float.MAX_VALUE && bolas.size() > 0 ? bolas.getPx(0) : Float.NaN;
+        return bolas.getPx(elegida);
+    }
+}